@@ -0,0 +1,43 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs Tomcat request handling on a virtual thread per request when {@code shareit.threads.mode=virtual},
+ * in the server and in the blocking gateway, whose outbound calls run on the request thread.
+ * The executor is looked up reflectively, so the build keeps its Java 11 target and the mode needs
+ * a Java 21 runtime only when it is switched on.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit.threads.mode", havingValue = "virtual")
+public class VirtualThreadConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService virtualThreadExecutor() {
+        return newVirtualThreadPerTaskExecutor();
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(
+            ExecutorService virtualThreadExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+    }
+
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("shareit.threads.mode=virtual requires Java 21 or newer, running on "
+                    + Runtime.version(), e);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Virtual thread executor is not available", e);
+        }
+    }
+}
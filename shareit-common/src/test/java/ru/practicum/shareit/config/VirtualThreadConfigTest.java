@@ -0,0 +1,33 @@
+package ru.practicum.shareit.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VirtualThreadConfigTest {
+
+    @Test
+    void newVirtualThreadPerTaskExecutorShouldRunTasksOnVirtualThreads() throws Exception {
+        assumeTrue(Runtime.version().feature() >= 21);
+
+        ExecutorService executor = VirtualThreadConfig.newVirtualThreadPerTaskExecutor();
+        try {
+            Object virtual = executor.submit(() -> Thread.class.getMethod("isVirtual")
+                    .invoke(Thread.currentThread())).get();
+            assertEquals(true, virtual);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void newVirtualThreadPerTaskExecutorShouldFailBeforeJava21() {
+        assumeTrue(Runtime.version().feature() < 21);
+
+        assertThrows(IllegalStateException.class, VirtualThreadConfig::newVirtualThreadPerTaskExecutor);
+    }
+}
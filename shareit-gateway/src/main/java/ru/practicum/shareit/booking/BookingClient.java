@@ -3,8 +3,9 @@ package ru.practicum.shareit.booking;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
@@ -13,36 +14,38 @@ import ru.practicum.shareit.client.BaseClient;
 import java.util.Map;
 
 @Service
+@Profile("!reactive")
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+            ClientHttpRequestFactory requestFactory) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                        .requestFactory(() -> requestFactory)
                         .build()
         );
     }
 
-    public ResponseEntity<Object> createBooking(BookItemRequestDto requestDto, long userId) {
+    public ResponseEntity<byte[]> createBooking(BookItemRequestDto requestDto, long userId) {
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> updateBooking(Boolean approved, long bookingId, long userId) {
+    public ResponseEntity<byte[]> updateBooking(Boolean approved, long bookingId, long userId) {
         return patch("/" + bookingId + "?approved={approved}", userId, Map.of("approved", approved), null);
     }
 
-    public ResponseEntity<Object> getBookingById(long bookingId, long userId) {
+    public ResponseEntity<byte[]> getBookingById(long bookingId, long userId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> getAllByBooker(long bookerId, Map<String, Object> parameters) {
-        return get("?state={state}&from={from}&size={size}", bookerId, parameters);
+    public ResponseEntity<byte[]> getAllByBooker(long bookerId, Map<String, Object> parameters) {
+        return get("?state={state}&from={from}&size={size}" + cursorQuery(parameters), bookerId, parameters);
     }
 
-    public ResponseEntity<Object> getAllByOwner(long ownerId, Map<String, Object> parameters) {
-        return get("/owner?state={state}&from={from}&size={size}", ownerId, parameters);
+    public ResponseEntity<byte[]> getAllByOwner(long ownerId, Map<String, Object> parameters) {
+        return get("/owner?state={state}&from={from}&size={size}" + cursorQuery(parameters), ownerId, parameters);
     }
 }
@@ -3,6 +3,7 @@ package ru.practicum.shareit.booking;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -20,10 +21,12 @@ import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
+import java.util.HashMap;
 import java.util.Map;
 
 
 @Controller
+@Profile("!reactive")
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 @Slf4j
@@ -35,7 +38,7 @@ public class BookingController {
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
 
     @PostMapping
-    public ResponseEntity<Object> createBooking(@Valid @RequestBody BookItemRequestDto bookItemRequestDto,
+    public ResponseEntity<byte[]> createBooking(@Valid @RequestBody BookItemRequestDto bookItemRequestDto,
                                                 @RequestHeader(USER_ID_HEADER) long userId) {
         log.info("Creating booking {}, userId={}", bookItemRequestDto, userId);
         return bookingClient.createBooking(bookItemRequestDto, userId);
@@ -43,7 +46,7 @@ public class BookingController {
 
     @PatchMapping("/{bookingId}")
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<Object> updateBooking(@RequestParam @NotNull Boolean approved,
+    public ResponseEntity<byte[]> updateBooking(@RequestParam @NotNull Boolean approved,
                                                 @PathVariable long bookingId,
                                                 @RequestHeader(USER_ID_HEADER) long userId) {
         log.info("Update booking {}, userId={}, boolean={}", bookingId, userId, approved);
@@ -51,37 +54,47 @@ public class BookingController {
     }
 
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBookingById(@PathVariable long bookingId,
+    public ResponseEntity<byte[]> getBookingById(@PathVariable long bookingId,
                                                  @RequestHeader(USER_ID_HEADER) long userId) {
         log.info("Get booking {}, userId={}", bookingId, userId);
         return bookingClient.getBookingById(bookingId, userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllByBooker(@RequestHeader(USER_ID_HEADER) long bookerId,
+    public ResponseEntity<byte[]> getAllByBooker(@RequestHeader(USER_ID_HEADER) long bookerId,
                                                  @RequestParam(required = false, defaultValue = "ALL") String state,
                                                  @Min(0) @RequestParam(defaultValue = "0") int from,
-                                                 @Min(0) @RequestParam(defaultValue = "10") int size) {
-        Map<String, Object> parameters = Map.of(
+                                                 @Min(0) @RequestParam(defaultValue = "10") int size,
+                                                 @RequestParam(required = false) String after) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", state,
                 "from", from,
                 "size", size
-        );
-        log.info("Get booking with state {}, userId={}, from={}, size={}", state, bookerId, from, size);
+        ));
+        if (after != null) {
+            parameters.put("after", after);
+        }
+        log.info("Get booking with state {}, userId={}, from={}, size={}, after={}", state, bookerId, from, size,
+                after);
         return bookingClient.getAllByBooker(bookerId, parameters);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getAllByOwner(@RequestHeader(USER_ID_HEADER) long ownerId,
+    public ResponseEntity<byte[]> getAllByOwner(@RequestHeader(USER_ID_HEADER) long ownerId,
                                                 @RequestParam(required = false, defaultValue = "ALL") String state,
                                                 @Min(0) @RequestParam(defaultValue = "0") int from,
-                                                @Min(0) @RequestParam(defaultValue = "10") int size) {
-        Map<String, Object> parameters = Map.of(
+                                                @Min(0) @RequestParam(defaultValue = "10") int size,
+                                                @RequestParam(required = false) String after) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", state,
                 "from", from,
                 "size", size
-        );
-        log.info("Get booking owner with state {}, userId={}, from={}, size={}", state, ownerId, from, size);
+        ));
+        if (after != null) {
+            parameters.put("after", after);
+        }
+        log.info("Get booking owner with state {}, userId={}, from={}, size={}, after={}", state, ownerId, from,
+                size, after);
         return bookingClient.getAllByOwner(ownerId, parameters);
     }
 }
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+
+import java.util.Map;
+
+@Service
+@Profile("reactive")
+public class ReactiveBookingClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/bookings";
+
+    @Autowired
+    public ReactiveBookingClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+            ReactorClientHttpConnector connector) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(connector)
+                        .build()
+        );
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createBooking(BookItemRequestDto requestDto, long userId) {
+        return post("", userId, requestDto);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> updateBooking(Boolean approved, long bookingId, long userId) {
+        return patch("/" + bookingId + "?approved={approved}", userId, Map.of("approved", approved), null);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getBookingById(long bookingId, long userId) {
+        return get("/" + bookingId, userId);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllByBooker(long bookerId, Map<String, Object> parameters) {
+        return get("?state={state}&from={from}&size={size}" + cursorQuery(parameters), bookerId,
+                parameters);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllByOwner(long ownerId, Map<String, Object> parameters) {
+        return get("/owner?state={state}&from={from}&size={size}" + cursorQuery(parameters), ownerId,
+                parameters);
+    }
+}
@@ -0,0 +1,106 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.util.HashMap;
+import java.util.Map;
+
+
+@Controller
+@Profile("reactive")
+@RequestMapping(path = "/bookings")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public class ReactiveBookingController {
+
+    private final ReactiveBookingClient bookingClient;
+
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    @PostMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createBooking(
+            @Valid @RequestBody BookItemRequestDto bookItemRequestDto,
+            @RequestHeader(USER_ID_HEADER) long userId) {
+        log.info("Creating booking {}, userId={}", bookItemRequestDto, userId);
+        return bookingClient.createBooking(bookItemRequestDto, userId);
+    }
+
+    @PatchMapping("/{bookingId}")
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<ResponseEntity<Flux<DataBuffer>>> updateBooking(@RequestParam @NotNull Boolean approved,
+                                                                @PathVariable long bookingId,
+                                                                @RequestHeader(USER_ID_HEADER) long userId) {
+        log.info("Update booking {}, userId={}, boolean={}", bookingId, userId, approved);
+        return bookingClient.updateBooking(approved, bookingId, userId);
+    }
+
+    @GetMapping("/{bookingId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getBookingById(@PathVariable long bookingId,
+                                                                 @RequestHeader(USER_ID_HEADER) long userId) {
+        log.info("Get booking {}, userId={}", bookingId, userId);
+        return bookingClient.getBookingById(bookingId, userId);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllByBooker(
+            @RequestHeader(USER_ID_HEADER) long bookerId,
+            @RequestParam(required = false, defaultValue = "ALL") String state,
+            @Min(0) @RequestParam(defaultValue = "0") int from,
+            @Min(0) @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String after) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
+                "state", state,
+                "from", from,
+                "size", size
+        ));
+        if (after != null) {
+            parameters.put("after", after);
+        }
+        log.info("Get booking with state {}, userId={}, from={}, size={}, after={}", state, bookerId, from, size,
+                after);
+        return bookingClient.getAllByBooker(bookerId, parameters);
+    }
+
+    @GetMapping("/owner")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllByOwner(
+            @RequestHeader(USER_ID_HEADER) long ownerId,
+            @RequestParam(required = false, defaultValue = "ALL") String state,
+            @Min(0) @RequestParam(defaultValue = "0") int from,
+            @Min(0) @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String after) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
+                "state", state,
+                "from", from,
+                "size", size
+        ));
+        if (after != null) {
+            parameters.put("after", after);
+        }
+        log.info("Get booking owner with state {}, userId={}, from={}, size={}, after={}", state, ownerId, from,
+                size, after);
+        return bookingClient.getAllByOwner(ownerId, parameters);
+    }
+}
@@ -3,99 +3,127 @@ package ru.practicum.shareit.client;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.http.HttpServletRequest;
 
 import java.util.List;
 import java.util.Map;
-
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Blocking client for shareit-server. Response bodies are relayed as raw bytes together with
+ * status and headers, they are never parsed in the gateway. Conditional headers of the incoming
+ * request are passed on, so a {@code 304} from the server reaches the caller as is.
+ */
 public class BaseClient {
+    static final Set<String> HOP_BY_HOP_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        HOP_BY_HOP_HEADERS.addAll(List.of(HttpHeaders.CONNECTION, "Keep-Alive", HttpHeaders.TRANSFER_ENCODING,
+                HttpHeaders.UPGRADE, HttpHeaders.TE, HttpHeaders.TRAILER, HttpHeaders.PROXY_AUTHENTICATE,
+                HttpHeaders.PROXY_AUTHORIZATION));
+    }
+
+    static final List<String> CONDITIONAL_HEADERS = List.of(HttpHeaders.IF_NONE_MATCH, HttpHeaders.IF_MODIFIED_SINCE);
+
     protected final RestTemplate rest;
 
     public BaseClient(RestTemplate rest) {
         this.rest = rest;
     }
 
-    protected ResponseEntity<Object> get(String path) {
+    protected ResponseEntity<byte[]> get(String path) {
         return get(path, null, null);
     }
 
-    protected ResponseEntity<Object> get(String path, long userId) {
+    protected ResponseEntity<byte[]> get(String path, long userId) {
         return get(path, userId, null);
     }
 
-    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected ResponseEntity<byte[]> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, T body) {
+    protected <T> ResponseEntity<byte[]> post(String path, T body) {
         return post(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, long userId, T body) {
+    protected <T> ResponseEntity<byte[]> post(String path, long userId, T body) {
         return post(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters,
+    protected <T> ResponseEntity<byte[]> post(String path, Long userId, @Nullable Map<String, Object> parameters,
                                               T body) {
         return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
+    protected <T> ResponseEntity<byte[]> put(String path, long userId, T body) {
         return put(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters,
+    protected <T> ResponseEntity<byte[]> put(String path, long userId, @Nullable Map<String, Object> parameters,
                                              T body) {
         return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, T body) {
+    protected <T> ResponseEntity<byte[]> patch(String path, T body) {
         return patch(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId) {
+    protected <T> ResponseEntity<byte[]> patch(String path, long userId) {
         return patch(path, userId, null, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId, T body) {
+    protected <T> ResponseEntity<byte[]> patch(String path, long userId, T body) {
         return patch(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> ResponseEntity<byte[]> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
     }
 
-    protected ResponseEntity<Object> delete(String path) {
+    protected ResponseEntity<byte[]> delete(String path) {
         return delete(path, null, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, long userId) {
+    protected ResponseEntity<byte[]> delete(String path, long userId) {
         return delete(path, userId, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected ResponseEntity<byte[]> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId,
+    protected static String cursorQuery(Map<String, Object> parameters) {
+        return parameters.containsKey("after") ? "&after={after}" : "";
+    }
+
+    private <T> ResponseEntity<byte[]> makeAndSendRequest(HttpMethod method, String path, Long userId,
                                                           @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
-        ResponseEntity<Object> shareitServerResponse;
+        ResponseEntity<byte[]> shareitServerResponse;
         try {
             if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
             } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
             }
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            return prepareGatewayResponse(e.getStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
         }
-        return prepareGatewayResponse(shareitServerResponse);
+        return prepareGatewayResponse(shareitServerResponse.getStatusCode(), shareitServerResponse.getHeaders(),
+                shareitServerResponse.getBody());
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
@@ -105,18 +133,32 @@ public class BaseClient {
         if (userId != null) {
             headers.set("X-Sharer-User-Id", String.valueOf(userId));
         }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes) {
+            HttpServletRequest request = ((ServletRequestAttributes) attributes).getRequest();
+            for (String name : CONDITIONAL_HEADERS) {
+                String value = request.getHeader(name);
+                if (value != null) {
+                    headers.set(name, value);
+                }
+            }
+        }
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
+    private static ResponseEntity<byte[]> prepareGatewayResponse(HttpStatus status, @Nullable HttpHeaders headers,
+                                                                 @Nullable byte[] body) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status);
+        if (headers != null) {
+            headers.forEach((name, values) -> {
+                if (!HOP_BY_HOP_HEADERS.contains(name)) {
+                    responseBuilder.header(name, values.toArray(String[]::new));
+                }
+            });
         }
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
-
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+        if (body != null && body.length > 0) {
+            return responseBuilder.body(body);
         }
 
         return responseBuilder.build();
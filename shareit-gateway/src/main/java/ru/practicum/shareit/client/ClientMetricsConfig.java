@@ -0,0 +1,49 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.boot.actuate.metrics.web.client.RestTemplateExchangeTags;
+import org.springframework.boot.actuate.metrics.web.client.RestTemplateExchangeTagsProvider;
+import org.springframework.boot.actuate.metrics.web.reactive.client.WebClientExchangeTags;
+import org.springframework.boot.actuate.metrics.web.reactive.client.WebClientExchangeTagsProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.URI;
+import java.util.regex.Pattern;
+
+/**
+ * Tags the {@code http.client.requests} round-trips of the gateway clients with the shareit-server path
+ * template, e.g. {@code /items/{id}/comment}. The clients build paths by concatenating ids, so the
+ * default {@code uri} tag would get one value per id and be cut off at the uri tag limit.
+ */
+@Configuration
+public class ClientMetricsConfig {
+
+    private static final Pattern ID_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+
+    @Bean
+    public RestTemplateExchangeTagsProvider restTemplateExchangeTagsProvider() {
+        return (urlTemplate, request, response) -> Tags.of(
+                RestTemplateExchangeTags.method(request),
+                uri(request.getURI()),
+                RestTemplateExchangeTags.status(response),
+                RestTemplateExchangeTags.clientName(request),
+                RestTemplateExchangeTags.outcome(response));
+    }
+
+    @Bean
+    public WebClientExchangeTagsProvider webClientExchangeTagsProvider() {
+        return (request, response, throwable) -> Tags.of(
+                WebClientExchangeTags.method(request),
+                uri(request.url()),
+                WebClientExchangeTags.status(response, throwable),
+                WebClientExchangeTags.clientName(request),
+                WebClientExchangeTags.outcome(response));
+    }
+
+    static Tag uri(URI uri) {
+        String path = uri.getRawPath();
+        return Tag.of("uri", path == null || path.isEmpty() ? "/" : ID_SEGMENT.matcher(path).replaceAll("/{id}"));
+    }
+}
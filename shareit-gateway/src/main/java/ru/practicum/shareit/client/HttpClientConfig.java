@@ -0,0 +1,86 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One pooled HTTP client shared by all gateway clients, every client talks to the same
+ * shareit-server route.
+ */
+@Configuration
+@Profile("!reactive")
+public class HttpClientConfig {
+
+    @Bean
+    public MeteredConnectionManager connectionManager(
+            MeterRegistry meterRegistry,
+            @Value("${shareit-server.http.max-total:200}") int maxTotal,
+            @Value("${shareit-server.http.max-per-route:200}") int maxPerRoute,
+            @Value("${shareit-server.http.validate-after-inactivity-ms:2000}") int validateAfterInactivity) {
+        MeteredConnectionManager connectionManager = new MeteredConnectionManager(meterRegistry);
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        connectionManager.setValidateAfterInactivity(validateAfterInactivity);
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "shareit-server")
+                .bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient httpClient(
+            MeteredConnectionManager connectionManager,
+            @Value("${shareit-server.http.connect-timeout-ms:2000}") int connectTimeout,
+            @Value("${shareit-server.http.read-timeout-ms:10000}") int readTimeout,
+            @Value("${shareit-server.http.lease-timeout-ms:1000}") int leaseTimeout,
+            @Value("${shareit-server.http.keep-alive-ms:30000}") long keepAlive,
+            @Value("${shareit-server.http.max-idle-ms:60000}") long maxIdle) {
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectTimeout(connectTimeout)
+                        .setSocketTimeout(readTimeout)
+                        .setConnectionRequestTimeout(leaseTimeout)
+                        .build())
+                .setKeepAliveStrategy((response, context) -> {
+                    long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE
+                            .getKeepAliveDuration(response, context);
+                    // -1: no Keep-Alive timeout from the server
+                    return serverKeepAlive >= 0 ? serverKeepAlive : keepAlive;
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(maxIdle, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit-server.cache.enabled", havingValue = "true")
+    public RestTemplateCustomizer responseCacheCustomizer(
+            MeterRegistry meterRegistry,
+            @Value("${shareit-server.cache.max-size-bytes:16777216}") long maxSizeBytes,
+            @Value("${shareit-server.cache.fresh-ms:0}") long fresh,
+            @Value("${shareit-server.cache.max-age-ms:600000}") long maxAge) {
+        ResponseCache responseCache = new ResponseCache(meterRegistry, maxSizeBytes, Duration.ofMillis(fresh),
+                Duration.ofMillis(maxAge));
+        return restTemplate -> restTemplate.getInterceptors().add(responseCache);
+    }
+
+    @Bean
+    public ClientHttpRequestFactory clientHttpRequestFactory(CloseableHttpClient httpClient) {
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Connection manager that records how long callers wait for a pooled connection.
+ */
+public class MeteredConnectionManager extends PoolingHttpClientConnectionManager {
+
+    private final Timer leaseTimer;
+
+    private final Timer leaseTimeoutTimer;
+
+    public MeteredConnectionManager(MeterRegistry meterRegistry) {
+        this.leaseTimer = Timer.builder("httpcomponents.httpclient.pool.lease")
+                .description("Time spent waiting for a pooled connection")
+                .tag("httpclient", "shareit-server")
+                .tag("outcome", "leased")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.leaseTimeoutTimer = Timer.builder("httpcomponents.httpclient.pool.lease")
+                .description("Time spent waiting for a pooled connection")
+                .tag("httpclient", "shareit-server")
+                .tag("outcome", "timeout")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ConnectionRequest requestConnection(HttpRoute route, Object state) {
+        ConnectionRequest request = super.requestConnection(route, state);
+        return new ConnectionRequest() {
+            @Override
+            public HttpClientConnection get(long timeout, TimeUnit timeUnit)
+                    throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+                long started = System.nanoTime();
+                try {
+                    HttpClientConnection connection = request.get(timeout, timeUnit);
+                    leaseTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                    return connection;
+                } catch (ConnectionPoolTimeoutException e) {
+                    leaseTimeoutTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                    throw e;
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return request.cancel();
+            }
+        };
+    }
+}
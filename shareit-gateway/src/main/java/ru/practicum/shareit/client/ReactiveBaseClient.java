@@ -0,0 +1,121 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.filter.reactive.ServerWebExchangeContextFilter;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Non-blocking counterpart of {@link BaseClient}: shareit-server responses are relayed as raw
+ * buffers, status and headers included, without being deserialized.
+ */
+public class ReactiveBaseClient {
+    protected final WebClient webClient;
+
+    public ReactiveBaseClient(WebClient webClient) {
+        this.webClient = webClient;
+    }
+
+    protected Mono<ResponseEntity<Flux<DataBuffer>>> get(String path) {
+        return get(path, null, null);
+    }
+
+    protected Mono<ResponseEntity<Flux<DataBuffer>>> get(String path, long userId) {
+        return get(path, userId, null);
+    }
+
+    protected Mono<ResponseEntity<Flux<DataBuffer>>> get(String path, Long userId,
+                                                         @Nullable Map<String, Object> parameters) {
+        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+    }
+
+    protected <T> Mono<ResponseEntity<Flux<DataBuffer>>> post(String path, T body) {
+        return post(path, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Flux<DataBuffer>>> post(String path, Long userId, T body) {
+        return makeAndSendRequest(HttpMethod.POST, path, userId, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Flux<DataBuffer>>> patch(String path, T body) {
+        return patch(path, null, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Flux<DataBuffer>>> patch(String path, long userId, T body) {
+        return patch(path, userId, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Flux<DataBuffer>>> patch(String path, Long userId,
+                                                               @Nullable Map<String, Object> parameters,
+                                                               @Nullable T body) {
+        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
+    }
+
+    protected Mono<ResponseEntity<Flux<DataBuffer>>> delete(String path) {
+        return makeAndSendRequest(HttpMethod.DELETE, path, null, null, null);
+    }
+
+    protected static String cursorQuery(Map<String, Object> parameters) {
+        return parameters.containsKey("after") ? "&after={after}" : "";
+    }
+
+    private <T> Mono<ResponseEntity<Flux<DataBuffer>>> makeAndSendRequest(HttpMethod method, String path,
+                                                                          Long userId,
+                                                                          @Nullable Map<String, Object> parameters,
+                                                                          @Nullable T body) {
+        return Mono.deferContextual(context -> {
+            WebClient.RequestBodySpec request = webClient.method(method)
+                    .uri(path, parameters != null ? parameters : Map.of())
+                    .headers(headers -> {
+                        defaultHeaders(headers, userId);
+                        context.<ServerWebExchange>getOrEmpty(ServerWebExchangeContextFilter.EXCHANGE_CONTEXT_ATTRIBUTE)
+                                .ifPresent(exchange -> forwardConditionalHeaders(exchange, headers));
+                    });
+            WebClient.RequestHeadersSpec<?> spec = body != null ? request.bodyValue(body) : request;
+
+            return spec.retrieve()
+                    .onRawStatus(status -> true, response -> Mono.empty())
+                    .toEntityFlux(DataBuffer.class)
+                    .map(ReactiveBaseClient::prepareGatewayResponse);
+        });
+    }
+
+    private static void defaultHeaders(HttpHeaders headers, Long userId) {
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        if (userId != null) {
+            headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        }
+    }
+
+    private static void forwardConditionalHeaders(ServerWebExchange exchange, HttpHeaders headers) {
+        for (String name : BaseClient.CONDITIONAL_HEADERS) {
+            String value = exchange.getRequest().getHeaders().getFirst(name);
+            if (value != null) {
+                headers.set(name, value);
+            }
+        }
+    }
+
+    private static ResponseEntity<Flux<DataBuffer>> prepareGatewayResponse(ResponseEntity<Flux<DataBuffer>> response) {
+        HttpHeaders headers = new HttpHeaders();
+        response.getHeaders().forEach((name, values) -> {
+            if (!BaseClient.HOP_BY_HOP_HEADERS.contains(name)) {
+                headers.addAll(name, values);
+            }
+        });
+        return ResponseEntity.status(response.getStatusCodeValue())
+                .headers(headers)
+                .body(response.getBody());
+    }
+}
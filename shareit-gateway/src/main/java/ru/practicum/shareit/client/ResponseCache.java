@@ -0,0 +1,297 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.NonNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Bounded cache of shareit-server responses for single user, item and request reads.
+ * Entries are keyed by URI and {@code X-Sharer-User-Id}, served as is while fresh and
+ * revalidated with {@code If-None-Match} afterwards. Writes through the gateway evict every
+ * entry of the resource they touch and all entries of the collections that show its data,
+ * see {@link #DEPENDENTS}. Changes the gateway does not see, writes through other instances
+ * and the server's booking pointer roll, are served late by up to the fresh period.
+ */
+public class ResponseCache implements ClientHttpRequestInterceptor {
+
+    private static final Pattern RESOURCE = Pattern.compile("^(.*/(users|items|requests|bookings)(/\\d+)?)(/.*)?$");
+
+    private static final Set<String> CACHEABLE = Set.of("users", "items", "requests");
+
+    /**
+     * Collections whose cached responses a write to the key collection may change, whatever the id.
+     */
+    private static final Map<String, Set<String>> DEPENDENTS = Map.of(
+            // approving a booking moves the last/next booking of the owner's item
+            "bookings", Set.of("items"),
+            // new and updated items are listed in the request they answer
+            "items", Set.of("requests"),
+            // comments show author names, a deleted user's items are deleted with them
+            "users", Set.of("items", "requests"));
+
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    private final Cache<Key, Entry> cache;
+
+    private final long freshNanos;
+
+    private final Counter fresh;
+
+    private final Counter notModified;
+
+    private final Counter modified;
+
+    private final Counter miss;
+
+    public ResponseCache(MeterRegistry meterRegistry, long maxSizeBytes, Duration fresh, Duration maxAge) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSizeBytes)
+                .weigher((Key key, Entry entry) -> key.weight() + entry.weight())
+                .expireAfterWrite(maxAge)
+                .build();
+        this.freshNanos = fresh.toNanos();
+        this.fresh = outcomeCounter(meterRegistry, "fresh");
+        this.notModified = outcomeCounter(meterRegistry, "not_modified");
+        this.modified = outcomeCounter(meterRegistry, "modified");
+        this.miss = outcomeCounter(meterRegistry, "miss");
+
+        Gauge.builder("gateway.response.cache.size", cache, Cache::estimatedSize)
+                .description("Cached shareit-server responses")
+                .register(meterRegistry);
+        Gauge.builder("gateway.response.cache.weight", cache,
+                        c -> c.policy().eviction().orElseThrow().weightedSize().orElse(0))
+                .description("Approximate memory held by cached responses")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("gateway.response.cache.hit.ratio", this, ResponseCache::hitRatio)
+                .description("Share of cacheable reads answered without a full server response")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @NonNull
+    public ClientHttpResponse intercept(@NonNull HttpRequest request, @NonNull byte[] body,
+                                        @NonNull ClientHttpRequestExecution execution) throws IOException {
+        Matcher resource = RESOURCE.matcher(request.getURI().getPath());
+        if (request.getMethod() != HttpMethod.GET) {
+            ClientHttpResponse response = execution.execute(request, body);
+            if (resource.matches()) {
+                evict(resource.group(1), DEPENDENTS.getOrDefault(resource.group(2), Set.of()));
+            }
+            return response;
+        }
+        if (!resource.matches() || !CACHEABLE.contains(resource.group(2)) || resource.group(3) == null
+                || resource.group(4) != null) {
+            return execution.execute(request, body);
+        }
+
+        Key key = new Key(request, resource.group(2));
+        Entry cached = cache.getIfPresent(key);
+        if (cached != null && System.nanoTime() - cached.storedAt < freshNanos) {
+            fresh.increment();
+            return cached.etag() != null && request.getHeaders().getIfNoneMatch().contains(cached.etag())
+                    ? cached.toNotModifiedResponse() : cached.toResponse();
+        }
+        boolean revalidating = cached != null && cached.etag() != null
+                && request.getHeaders().getIfNoneMatch().isEmpty();
+        if (revalidating) {
+            request.getHeaders().setIfNoneMatch(cached.etag());
+        }
+
+        ClientHttpResponse response = execution.execute(request, body);
+        if (revalidating && response.getRawStatusCode() == HttpStatus.NOT_MODIFIED.value()) {
+            response.close();
+            notModified.increment();
+            Entry revalidated = cached.revalidated();
+            cache.put(key, revalidated);
+            return revalidated.toResponse();
+        }
+        if (cached != null) {
+            modified.increment();
+        } else {
+            miss.increment();
+        }
+        if (response.getRawStatusCode() == HttpStatus.NOT_MODIFIED.value()) {
+            return response;
+        }
+        if (response.getRawStatusCode() != HttpStatus.OK.value()) {
+            cache.invalidate(key);
+            return response;
+        }
+
+        Entry entry;
+        try (response) {
+            entry = new Entry(response.getRawStatusCode(), response.getStatusText(), response.getHeaders(),
+                    response.getBody().readAllBytes());
+        }
+        if (entry.etag() != null || freshNanos > 0) {
+            cache.put(key, entry);
+        } else {
+            cache.invalidate(key);
+        }
+        return entry.toResponse();
+    }
+
+    private void evict(String path, Set<String> dependents) {
+        cache.asMap().keySet().removeIf(key -> key.path.equals(path) || dependents.contains(key.collection));
+    }
+
+    private double hitRatio() {
+        double hits = fresh.count() + notModified.count();
+        double total = hits + modified.count() + miss.count();
+        return total == 0 ? 0 : hits / total;
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("gateway.response.cache.requests")
+                .description("Cacheable shareit-server reads by cache outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static final class Key {
+        private final String collection;
+
+        private final String path;
+
+        private final String uri;
+
+        private final String userId;
+
+        private Key(HttpRequest request, String collection) {
+            this.collection = collection;
+            this.path = request.getURI().getPath();
+            this.uri = request.getURI().toString();
+            this.userId = request.getHeaders().getFirst(USER_ID_HEADER);
+        }
+
+        private int weight() {
+            return uri.length() * 2 + path.length() * 2;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return uri.equals(key.uri) && Objects.equals(userId, key.userId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(uri, userId);
+        }
+    }
+
+    private static final class Entry {
+        private final int status;
+
+        private final String statusText;
+
+        private final HttpHeaders headers;
+
+        private final byte[] body;
+
+        private final long storedAt;
+
+        private Entry(int status, String statusText, HttpHeaders headers, byte[] body) {
+            this(status, statusText, withoutDate(headers), body, System.nanoTime());
+        }
+
+        private Entry(int status, String statusText, HttpHeaders headers, byte[] body, long storedAt) {
+            this.status = status;
+            this.statusText = statusText;
+            this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+            this.body = body;
+            this.storedAt = storedAt;
+        }
+
+        private String etag() {
+            return headers.getETag();
+        }
+
+        private Entry revalidated() {
+            return new Entry(status, statusText, headers, body, System.nanoTime());
+        }
+
+        private int weight() {
+            return body.length + headers.toString().length() * 2;
+        }
+
+        private ClientHttpResponse toResponse() {
+            return toResponse(status, statusText, body);
+        }
+
+        private ClientHttpResponse toNotModifiedResponse() {
+            return toResponse(HttpStatus.NOT_MODIFIED.value(), HttpStatus.NOT_MODIFIED.getReasonPhrase(), new byte[0]);
+        }
+
+        private ClientHttpResponse toResponse(int status, String statusText, byte[] body) {
+            return new ClientHttpResponse() {
+                @Override
+                @NonNull
+                public HttpStatus getStatusCode() {
+                    return HttpStatus.valueOf(status);
+                }
+
+                @Override
+                public int getRawStatusCode() {
+                    return status;
+                }
+
+                @Override
+                @NonNull
+                public String getStatusText() {
+                    return statusText;
+                }
+
+                @Override
+                @NonNull
+                public HttpHeaders getHeaders() {
+                    return headers;
+                }
+
+                @Override
+                @NonNull
+                public InputStream getBody() {
+                    return new ByteArrayInputStream(body);
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+        }
+
+        private static HttpHeaders withoutDate(HttpHeaders headers) {
+            HttpHeaders copy = new HttpHeaders();
+            copy.putAll(headers);
+            copy.remove(HttpHeaders.DATE);
+            return copy;
+        }
+    }
+}
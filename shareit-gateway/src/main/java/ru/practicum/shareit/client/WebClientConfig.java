@@ -0,0 +1,63 @@
+package ru.practicum.shareit.client;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.filter.reactive.ServerWebExchangeContextFilter;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * Netty server and the Reactor Netty connection pool shared by the reactive gateway clients.
+ */
+@Configuration
+@Profile("reactive")
+public class WebClientConfig {
+
+    /**
+     * Tomcat stays on the classpath for the servlet mode and would otherwise be preferred.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /**
+     * Exposes the incoming exchange to the clients, which pass its conditional headers on.
+     */
+    @Bean
+    public ServerWebExchangeContextFilter serverWebExchangeContextFilter() {
+        return new ServerWebExchangeContextFilter();
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider connectionProvider(
+            @Value("${shareit-server.http.max-total:200}") int maxTotal,
+            @Value("${shareit-server.http.lease-timeout-ms:1000}") long leaseTimeout,
+            @Value("${shareit-server.http.max-idle-ms:60000}") long maxIdle) {
+        return ConnectionProvider.builder("shareit-server")
+                .maxConnections(maxTotal)
+                .pendingAcquireMaxCount(-1)
+                .pendingAcquireTimeout(Duration.ofMillis(leaseTimeout))
+                .maxIdleTime(Duration.ofMillis(maxIdle))
+                .evictInBackground(Duration.ofMillis(maxIdle))
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public ReactorClientHttpConnector reactorClientHttpConnector(
+            ConnectionProvider connectionProvider,
+            @Value("${shareit-server.http.connect-timeout-ms:2000}") int connectTimeout,
+            @Value("${shareit-server.http.read-timeout-ms:10000}") long readTimeout) {
+        return new ReactorClientHttpConnector(HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeout)
+                .responseTimeout(Duration.ofMillis(readTimeout)));
+    }
+}
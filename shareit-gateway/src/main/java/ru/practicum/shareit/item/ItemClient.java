@@ -3,51 +3,59 @@ package ru.practicum.shareit.item;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 
+import java.util.List;
 import java.util.Map;
 
 @Service
+@Profile("!reactive")
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+            ClientHttpRequestFactory requestFactory) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                        .requestFactory(() -> requestFactory)
                         .build()
         );
     }
 
-    public ResponseEntity<Object> createItem(long userId, ItemRequestDto itemRequestDto) {
+    public ResponseEntity<byte[]> createItem(long userId, ItemRequestDto itemRequestDto) {
         return post("", userId, itemRequestDto);
     }
 
-    public ResponseEntity<Object> updateItem(long itemId, long userId, ItemRequestDto itemRequestDto) {
+    public ResponseEntity<byte[]> createItems(long userId, List<ItemRequestDto> itemRequestDtos) {
+        return post("/batch", userId, itemRequestDtos);
+    }
+
+    public ResponseEntity<byte[]> updateItem(long itemId, long userId, ItemRequestDto itemRequestDto) {
         return patch("/" + itemId, userId, itemRequestDto);
     }
 
-    public ResponseEntity<Object> getItemById(long itemId, long userId) {
+    public ResponseEntity<byte[]> getItemById(long itemId, long userId) {
         return get("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> getItemsByUserId(long userId, Map<String, Object> parameters) {
-        return get("?from={from}&size={size}", userId, parameters);
+    public ResponseEntity<byte[]> getItemsByUserId(long userId, Map<String, Object> parameters) {
+        return get("?from={from}&size={size}" + cursorQuery(parameters), userId, parameters);
     }
 
-    public ResponseEntity<Object> getItemsByQuery(Map<String, Object> parameters) {
+    public ResponseEntity<byte[]> getItemsByQuery(Map<String, Object> parameters) {
         return get("/search?text={text}&from={from}&size={size}", null, parameters);
     }
 
-    public ResponseEntity<Object> createComment(CommentRequestDto commentRequestDto, long itemId, long bookerId) {
+    public ResponseEntity<byte[]> createComment(CommentRequestDto commentRequestDto, long itemId, long bookerId) {
         return post("/" + itemId + "/comment", bookerId, commentRequestDto);
     }
 }
@@ -2,6 +2,7 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -18,9 +19,12 @@ import ru.practicum.shareit.item.dto.ItemRequestDto;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Controller
+@Profile("!reactive")
 @RequestMapping(path = "/items")
 @RequiredArgsConstructor
 @Slf4j
@@ -32,14 +36,21 @@ public class ItemController {
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
 
     @PostMapping
-    public ResponseEntity<Object> createItem(@Valid @RequestBody ItemRequestDto itemRequestDto,
+    public ResponseEntity<byte[]> createItem(@Valid @RequestBody ItemRequestDto itemRequestDto,
                                              @RequestHeader(USER_ID_HEADER) long userId) {
         log.info("Creating item {}, userId={}", itemRequestDto, userId);
         return itemClient.createItem(userId, itemRequestDto);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<byte[]> createItems(@RequestBody List<ItemRequestDto> itemRequestDtos,
+                                              @RequestHeader(USER_ID_HEADER) long userId) {
+        log.info("Creating {} items, userId={}", itemRequestDtos.size(), userId);
+        return itemClient.createItems(userId, itemRequestDtos);
+    }
+
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> updateItem(@RequestBody ItemRequestDto itemRequestDto,
+    public ResponseEntity<byte[]> updateItem(@RequestBody ItemRequestDto itemRequestDto,
                                              @PathVariable long itemId,
                                              @RequestHeader(USER_ID_HEADER) long userId) {
         log.info("Update item {}, userId={}", itemId, userId);
@@ -47,26 +58,30 @@ public class ItemController {
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getItemById(@PathVariable long itemId,
+    public ResponseEntity<byte[]> getItemById(@PathVariable long itemId,
                                               @RequestHeader(USER_ID_HEADER) long userId) {
         log.info("Get item {}, userId={}", itemId, userId);
         return itemClient.getItemById(itemId, userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getItemsByUserId(@RequestHeader(USER_ID_HEADER) long userId,
+    public ResponseEntity<byte[]> getItemsByUserId(@RequestHeader(USER_ID_HEADER) long userId,
                                                    @Min(0) @RequestParam(defaultValue = "0") int from,
-                                                   @Min(0) @RequestParam(defaultValue = "10") int size) {
-        Map<String, Object> parameters = Map.of(
+                                                   @Min(0) @RequestParam(defaultValue = "10") int size,
+                                                   @RequestParam(required = false) String after) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "from", from,
                 "size", size
-        );
-        log.info("Get item with userId={}, from={}, size={}", userId, from, size);
+        ));
+        if (after != null) {
+            parameters.put("after", after);
+        }
+        log.info("Get item with userId={}, from={}, size={}, after={}", userId, from, size, after);
         return itemClient.getItemsByUserId(userId, parameters);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> getItemsByQuery(@RequestParam String text,
+    public ResponseEntity<byte[]> getItemsByQuery(@RequestParam String text,
                                                   @Min(0) @RequestParam(defaultValue = "0") int from,
                                                   @Min(0) @RequestParam(defaultValue = "10") int size) {
         Map<String, Object> parameters = Map.of(
@@ -79,7 +94,7 @@ public class ItemController {
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> createComment(@Valid @RequestBody CommentRequestDto commentRequestDto,
+    public ResponseEntity<byte[]> createComment(@Valid @RequestBody CommentRequestDto commentRequestDto,
                                                 @PathVariable("itemId") long itemId,
                                                 @RequestHeader(USER_ID_HEADER) long bookerId) {
         log.info("Creating comment {}, userId={}, itemId={}", commentRequestDto, bookerId, itemId);
@@ -0,0 +1,65 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.item.dto.CommentRequestDto;
+import ru.practicum.shareit.item.dto.ItemRequestDto;
+
+import java.util.List;
+import java.util.Map;
+
+@Service
+@Profile("reactive")
+public class ReactiveItemClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/items";
+
+    @Autowired
+    public ReactiveItemClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+            ReactorClientHttpConnector connector) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(connector)
+                        .build()
+        );
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createItem(long userId, ItemRequestDto itemRequestDto) {
+        return post("", userId, itemRequestDto);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createItems(long userId, List<ItemRequestDto> itemRequestDtos) {
+        return post("/batch", userId, itemRequestDtos);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> updateItem(long itemId, long userId,
+                                                             ItemRequestDto itemRequestDto) {
+        return patch("/" + itemId, userId, itemRequestDto);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getItemById(long itemId, long userId) {
+        return get("/" + itemId, userId);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getItemsByUserId(long userId, Map<String, Object> parameters) {
+        return get("?from={from}&size={size}" + cursorQuery(parameters), userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getItemsByQuery(Map<String, Object> parameters) {
+        return get("/search?text={text}&from={from}&size={size}", null, parameters);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createComment(CommentRequestDto commentRequestDto, long itemId,
+                                                                long bookerId) {
+        return post("/" + itemId + "/comment", bookerId, commentRequestDto);
+    }
+}
@@ -0,0 +1,106 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.item.dto.CommentRequestDto;
+import ru.practicum.shareit.item.dto.ItemRequestDto;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Controller
+@Profile("reactive")
+@RequestMapping(path = "/items")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public class ReactiveItemController {
+
+    private final ReactiveItemClient itemClient;
+
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    @PostMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createItem(@Valid @RequestBody ItemRequestDto itemRequestDto,
+                                                             @RequestHeader(USER_ID_HEADER) long userId) {
+        log.info("Creating item {}, userId={}", itemRequestDto, userId);
+        return itemClient.createItem(userId, itemRequestDto);
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createItems(@RequestBody List<ItemRequestDto> itemRequestDtos,
+                                                              @RequestHeader(USER_ID_HEADER) long userId) {
+        log.info("Creating {} items, userId={}", itemRequestDtos.size(), userId);
+        return itemClient.createItems(userId, itemRequestDtos);
+    }
+
+    @PatchMapping("/{itemId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> updateItem(@RequestBody ItemRequestDto itemRequestDto,
+                                                             @PathVariable long itemId,
+                                                             @RequestHeader(USER_ID_HEADER) long userId) {
+        log.info("Update item {}, userId={}", itemId, userId);
+        return itemClient.updateItem(itemId, userId, itemRequestDto);
+    }
+
+    @GetMapping("/{itemId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getItemById(@PathVariable long itemId,
+                                                              @RequestHeader(USER_ID_HEADER) long userId) {
+        log.info("Get item {}, userId={}", itemId, userId);
+        return itemClient.getItemById(itemId, userId);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getItemsByUserId(@RequestHeader(USER_ID_HEADER) long userId,
+                                                                   @Min(0) @RequestParam(defaultValue = "0") int from,
+                                                                   @Min(0) @RequestParam(defaultValue = "10") int size,
+                                                                   @RequestParam(required = false) String after) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
+                "from", from,
+                "size", size
+        ));
+        if (after != null) {
+            parameters.put("after", after);
+        }
+        log.info("Get item with userId={}, from={}, size={}, after={}", userId, from, size, after);
+        return itemClient.getItemsByUserId(userId, parameters);
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getItemsByQuery(@RequestParam String text,
+                                                                  @Min(0) @RequestParam(defaultValue = "0") int from,
+                                                                  @Min(0) @RequestParam(defaultValue = "10") int size) {
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "from", from,
+                "size", size
+        );
+        log.info("Get item query with query={}, from={}, size={}", text, from, size);
+        return itemClient.getItemsByQuery(parameters);
+    }
+
+    @PostMapping("/{itemId}/comment")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createComment(@Valid @RequestBody CommentRequestDto commentRequestDto,
+                                                                @PathVariable("itemId") long itemId,
+                                                                @RequestHeader(USER_ID_HEADER) long bookerId) {
+        log.info("Creating comment {}, userId={}, itemId={}", commentRequestDto, bookerId, itemId);
+        return itemClient.createComment(commentRequestDto, itemId, bookerId);
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.request;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.request.dto.RequestDto;
+
+import java.util.Map;
+
+@Service
+@Profile("reactive")
+public class ReactiveRequestClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/requests";
+
+    @Autowired
+    public ReactiveRequestClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+            ReactorClientHttpConnector connector) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(connector)
+                        .build()
+        );
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createItemRequest(RequestDto requestDto, long userId) {
+        return post("", userId, requestDto);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllByRequestorId(long userId) {
+        return get("", userId);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllByNotRequestorId(long userId,
+                                                                         Map<String, Object> parameters) {
+        return get("/all?from={from}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getRequestById(long userId, long requestId) {
+        return get("/" + requestId, userId);
+    }
+}
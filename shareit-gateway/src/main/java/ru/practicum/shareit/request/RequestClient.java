@@ -3,8 +3,9 @@ package ru.practicum.shareit.request;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
@@ -13,32 +14,34 @@ import ru.practicum.shareit.request.dto.RequestDto;
 import java.util.Map;
 
 @Service
+@Profile("!reactive")
 public class RequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public RequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public RequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+            ClientHttpRequestFactory requestFactory) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                        .requestFactory(() -> requestFactory)
                         .build()
         );
     }
 
-    public ResponseEntity<Object> createItemRequest(RequestDto requestDto, long userId) {
+    public ResponseEntity<byte[]> createItemRequest(RequestDto requestDto, long userId) {
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> getAllByRequestorId(long userId) {
+    public ResponseEntity<byte[]> getAllByRequestorId(long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> getAllByNotRequestorId(long userId, Map<String, Object> parameters) {
+    public ResponseEntity<byte[]> getAllByNotRequestorId(long userId, Map<String, Object> parameters) {
         return get("/all?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getRequestById(long userId, long requestId) {
+    public ResponseEntity<byte[]> getRequestById(long userId, long requestId) {
         return get("/" + requestId, userId);
     }
 }
@@ -2,6 +2,7 @@ package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -20,6 +21,7 @@ import java.util.Map;
 
 
 @Controller
+@Profile("!reactive")
 @RequestMapping(path = "/requests")
 @RequiredArgsConstructor
 @Slf4j
@@ -31,20 +33,20 @@ public class RequestController {
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
 
     @PostMapping
-    public ResponseEntity<Object> createItemRequest(@Valid @RequestBody RequestDto requestDto,
+    public ResponseEntity<byte[]> createItemRequest(@Valid @RequestBody RequestDto requestDto,
                                                     @RequestHeader(USER_ID_HEADER) long userId) {
         log.info("Creating item request {}, userId={}", requestDto, userId);
         return requestClient.createItemRequest(requestDto, userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllByRequestorId(@RequestHeader(USER_ID_HEADER) long userId) {
+    public ResponseEntity<byte[]> getAllByRequestorId(@RequestHeader(USER_ID_HEADER) long userId) {
         log.info("Get item request with userId={}", userId);
         return requestClient.getAllByRequestorId(userId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getAllByRequestsByUserId(@RequestHeader(USER_ID_HEADER) long userId,
+    public ResponseEntity<byte[]> getAllByRequestsByUserId(@RequestHeader(USER_ID_HEADER) long userId,
                                                            @Min(0) @RequestParam(defaultValue = "0") int from,
                                                            @Min(0) @RequestParam(defaultValue = "10") int size) {
         Map<String, Object> parameters = Map.of(
@@ -56,7 +58,7 @@ public class RequestController {
     }
 
     @GetMapping("{requestId}")
-    public ResponseEntity<Object> getRequestById(@RequestHeader(USER_ID_HEADER) long userId,
+    public ResponseEntity<byte[]> getRequestById(@RequestHeader(USER_ID_HEADER) long userId,
                                                  @PathVariable long requestId) {
         log.info("Get item request with userId={}", userId);
         return requestClient.getRequestById(userId, requestId);
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.user;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.user.dto.UserRequestDto;
+
+import java.util.List;
+
+@Service
+@Profile("reactive")
+public class ReactiveUserClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/users";
+
+    @Autowired
+    public ReactiveUserClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+            ReactorClientHttpConnector connector) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(connector)
+                        .build()
+        );
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createUser(UserRequestDto userRequestDto) {
+        return post("", userRequestDto);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createUsers(List<UserRequestDto> userRequestDtos) {
+        return post("/batch", userRequestDtos);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> updateUser(long id, UserRequestDto userRequestDto) {
+        return patch("/" + id, userRequestDto);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getUserById(long id) {
+        return get("/" + id);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getUsers() {
+        return get("");
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> removeUser(long id) {
+        return delete("/" + id);
+    }
+}
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.user.dto.UserRequestDto;
+
+import javax.validation.Valid;
+import java.util.List;
+
+@Controller
+@Profile("reactive")
+@RequestMapping(path = "/users")
+@RequiredArgsConstructor
+@Slf4j
+
+public class ReactiveUserController {
+
+    private final ReactiveUserClient userClient;
+
+    @PostMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createUser(@Valid @RequestBody UserRequestDto userRequestDto) {
+        log.info("Creating user {}", userRequestDto);
+        return userClient.createUser(userRequestDto);
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createUsers(@RequestBody List<UserRequestDto> userRequestDtos) {
+        log.info("Creating {} users", userRequestDtos.size());
+        return userClient.createUsers(userRequestDtos);
+    }
+
+    @PatchMapping("/{userId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> updateUser(@RequestBody UserRequestDto userRequestDto,
+                                                             @PathVariable long userId) {
+        log.info("Update user with userId={}", userId);
+        return userClient.updateUser(userId, userRequestDto);
+    }
+
+    @GetMapping("/{userId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getUserById(@PathVariable long userId) {
+        log.info("Get user with userId={}", userId);
+        return userClient.getUserById(userId);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getUsers() {
+        log.info("Get all users");
+        return userClient.getUsers();
+    }
+
+    @DeleteMapping("/{userId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> removeUser(@PathVariable long userId) {
+        log.info("Remove user with userId={}", userId);
+        return userClient.removeUser(userId);
+
+    }
+}
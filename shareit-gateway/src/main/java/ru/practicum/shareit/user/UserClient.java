@@ -3,44 +3,53 @@ package ru.practicum.shareit.user;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.user.dto.UserRequestDto;
 
+import java.util.List;
+
 @Service
+@Profile("!reactive")
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+            ClientHttpRequestFactory requestFactory) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                        .requestFactory(() -> requestFactory)
                         .build()
         );
     }
 
-    public ResponseEntity<Object> createUser(UserRequestDto userRequestDto) {
+    public ResponseEntity<byte[]> createUser(UserRequestDto userRequestDto) {
         return post("", userRequestDto);
     }
 
-    public ResponseEntity<Object> updateUser(long id, UserRequestDto userRequestDto) {
+    public ResponseEntity<byte[]> createUsers(List<UserRequestDto> userRequestDtos) {
+        return post("/batch", userRequestDtos);
+    }
+
+    public ResponseEntity<byte[]> updateUser(long id, UserRequestDto userRequestDto) {
         return patch("/" + id, userRequestDto);
     }
 
-    public ResponseEntity<Object> getUserById(long id) {
+    public ResponseEntity<byte[]> getUserById(long id) {
         return get("/" + id);
     }
 
-    public ResponseEntity<Object> getUsers() {
+    public ResponseEntity<byte[]> getUsers() {
         return get("");
     }
 
-    public ResponseEntity<Object> removeUser(long id) {
+    public ResponseEntity<byte[]> removeUser(long id) {
         return delete("/" + id);
     }
 }
\ No newline at end of file
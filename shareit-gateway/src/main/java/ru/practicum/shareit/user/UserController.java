@@ -2,6 +2,7 @@ package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -14,8 +15,10 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import ru.practicum.shareit.user.dto.UserRequestDto;
 
 import javax.validation.Valid;
+import java.util.List;
 
 @Controller
+@Profile("!reactive")
 @RequestMapping(path = "/users")
 @RequiredArgsConstructor
 @Slf4j
@@ -25,31 +28,37 @@ public class UserController {
     private final UserClient userClient;
 
     @PostMapping
-    public ResponseEntity<Object> createUser(@Valid @RequestBody UserRequestDto userRequestDto) {
+    public ResponseEntity<byte[]> createUser(@Valid @RequestBody UserRequestDto userRequestDto) {
         log.info("Creating user {}", userRequestDto);
         return userClient.createUser(userRequestDto);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<byte[]> createUsers(@RequestBody List<UserRequestDto> userRequestDtos) {
+        log.info("Creating {} users", userRequestDtos.size());
+        return userClient.createUsers(userRequestDtos);
+    }
+
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> updateUser(@RequestBody UserRequestDto userRequestDto, @PathVariable long userId) {
+    public ResponseEntity<byte[]> updateUser(@RequestBody UserRequestDto userRequestDto, @PathVariable long userId) {
         log.info("Update user with userId={}", userId);
         return userClient.updateUser(userId, userRequestDto);
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> getUserById(@PathVariable long userId) {
+    public ResponseEntity<byte[]> getUserById(@PathVariable long userId) {
         log.info("Get user with userId={}", userId);
         return userClient.getUserById(userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getUsers() {
+    public ResponseEntity<byte[]> getUsers() {
         log.info("Get all users");
         return userClient.getUsers();
     }
 
     @DeleteMapping("/{userId}")
-    public ResponseEntity<Object> removeUser(@PathVariable long userId) {
+    public ResponseEntity<byte[]> removeUser(@PathVariable long userId) {
         log.info("Remove user with userId={}", userId);
         return userClient.removeUser(userId);
 
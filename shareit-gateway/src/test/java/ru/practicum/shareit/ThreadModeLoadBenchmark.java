@@ -0,0 +1,88 @@
+package ru.practicum.shareit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * End to end load test for comparing the request thread modes: many concurrent clients read an
+ * item through a running gateway and server. Start the stack once per mode
+ * ({@code SHAREIT_THREADS_MODE=platform} or {@code virtual} for both apps) and compare the
+ * throughput and the p0.99 of the sample time results:
+ * {@code mvn -pl shareit-gateway -P benchmark verify -DskipTests -Dbenchmark="ThreadModeLoadBenchmark -t 1000"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(500)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class ThreadModeLoadBenchmark {
+
+    private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+
+    private HttpClient client;
+
+    private HttpRequest getItem;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        String target = System.getProperty("benchmark.target.url", "http://localhost:8080");
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+
+        long userId = create(URI.create(target + "/users"), null,
+                "{\"name\":\"load\",\"email\":\"load" + System.nanoTime() + "@mail.ru\"}");
+        long itemId = create(URI.create(target + "/items"), userId,
+                "{\"name\":\"drill\",\"description\":\"cordless drill\",\"available\":true}");
+
+        getItem = HttpRequest.newBuilder(URI.create(target + "/items/" + itemId))
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .GET()
+                .build();
+    }
+
+    @Benchmark
+    public int getItem() throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(getItem, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode());
+        }
+        return response.body().length;
+    }
+
+    private long create(URI uri, Long userId, String json) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        if (userId != null) {
+            request.header("X-Sharer-User-Id", String.valueOf(userId));
+        }
+        String body = client.send(request.build(), HttpResponse.BodyHandlers.ofString()).body();
+        Matcher matcher = ID.matcher(body);
+        if (!matcher.find()) {
+            throw new IllegalStateException("Unexpected response " + body);
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+}
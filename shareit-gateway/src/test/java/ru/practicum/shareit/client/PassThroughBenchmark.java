@@ -0,0 +1,104 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gateway CPU per request for an owner booking page: the server response parsed into
+ * {@code Object} and written back by Jackson, as the gateway used to do, versus relaying the
+ * raw bytes. The server is stubbed, so only the gateway side of the round trip is measured.
+ * {@code mvn -pl shareit-gateway -P benchmark verify -DskipTests -Dbenchmark="PassThroughBenchmark -prof gc"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PassThroughBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int bookings;
+
+    private RestTemplate rest;
+
+    private MappingJackson2HttpMessageConverter jsonConverter;
+
+    private ByteArrayHttpMessageConverter byteArrayConverter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        byte[] page = bookingPage(bookings);
+        rest = new RestTemplate((uri, method) -> {
+            MockClientHttpResponse response = new MockClientHttpResponse(page, HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            MockClientHttpRequest request = new MockClientHttpRequest(method, uri);
+            request.setResponse(response);
+            return request;
+        });
+        jsonConverter = new MappingJackson2HttpMessageConverter(new ObjectMapper());
+        byteArrayConverter = new ByteArrayHttpMessageConverter();
+    }
+
+    @Benchmark
+    public byte[] deserializeObject() throws IOException {
+        ResponseEntity<Object> response = rest.exchange("http://server/bookings/owner", HttpMethod.GET, null,
+                Object.class);
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        jsonConverter.write(response.getBody(), MediaType.APPLICATION_JSON, output);
+        return output.getBodyAsBytes();
+    }
+
+    @Benchmark
+    public byte[] passThroughBytes() throws IOException {
+        ResponseEntity<byte[]> response = rest.exchange("http://server/bookings/owner", HttpMethod.GET, null,
+                byte[].class);
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        byteArrayConverter.write(response.getBody(), MediaType.APPLICATION_JSON, output);
+        return output.getBodyAsBytes();
+    }
+
+    private static byte[] bookingPage(int size) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 1; i <= size; i++) {
+            if (i > 1) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(i)
+                    .append(",\"start\":\"2026-10-18T12:00:00\",\"end\":\"2026-10-19T12:00:00\"")
+                    .append(",\"status\":\"APPROVED\"")
+                    .append(",\"booker\":{\"id\":").append(i + 1)
+                    .append(",\"name\":\"booker").append(i).append("\",\"email\":\"booker").append(i)
+                    .append("@mail.ru\"}")
+                    .append(",\"item\":{\"id\":").append(i)
+                    .append(",\"name\":\"drill").append(i).append("\",\"description\":\"cordless drill\"")
+                    .append(",\"available\":true,\"requestId\":null}}");
+        }
+        return json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,181 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResponseCacheTest {
+
+    private static final Duration FRESH = Duration.ofMinutes(1);
+
+    private final Server server = new Server();
+
+    @Test
+    void freshEntryShouldBeServedWithoutServer() throws IOException {
+        ResponseCache cache = cache(FRESH);
+        server.respond(HttpStatus.OK, "\"u1-0\"", "first");
+
+        assertEquals("first", body(cache.intercept(get("/users/1"), new byte[0], server)));
+        assertEquals("first", body(cache.intercept(get("/users/1"), new byte[0], server)));
+        assertEquals(1, server.requests.size());
+    }
+
+    @Test
+    void staleEntryShouldBeRevalidated() throws IOException {
+        ResponseCache cache = cache(Duration.ZERO);
+        server.respond(HttpStatus.OK, "\"u1-0\"", "first");
+        cache.intercept(get("/users/1"), new byte[0], server);
+
+        server.respond(HttpStatus.NOT_MODIFIED, "\"u1-0\"", "");
+        ClientHttpResponse response = cache.intercept(get("/users/1"), new byte[0], server);
+
+        assertEquals(HttpStatus.OK.value(), response.getRawStatusCode());
+        assertEquals("first", body(response));
+        assertEquals(List.of("\"u1-0\""), server.requests.get(1).getHeaders().getIfNoneMatch());
+    }
+
+    @Test
+    void clientIfNoneMatchShouldGetNotModifiedFromFreshEntry() throws IOException {
+        ResponseCache cache = cache(FRESH);
+        server.respond(HttpStatus.OK, "\"u1-0\"", "first");
+        cache.intercept(get("/users/1"), new byte[0], server);
+
+        MockClientHttpRequest conditional = get("/users/1");
+        conditional.getHeaders().setIfNoneMatch("\"u1-0\"");
+        ClientHttpResponse response = cache.intercept(conditional, new byte[0], server);
+
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), response.getRawStatusCode());
+        assertEquals(1, server.requests.size());
+    }
+
+    @Test
+    void writeShouldEvictResource() throws IOException {
+        ResponseCache cache = cache(FRESH);
+        server.respond(HttpStatus.OK, "\"u1-0\"", "first");
+        cache.intercept(get("/users/1"), new byte[0], server);
+
+        write(cache, HttpMethod.PATCH, "/users/1");
+        server.respond(HttpStatus.OK, "\"u1-1\"", "updated");
+
+        assertEquals("updated", body(cache.intercept(get("/users/1"), new byte[0], server)));
+        assertEquals(3, server.requests.size());
+    }
+
+    @Test
+    void bookingWriteShouldEvictItems() throws IOException {
+        ResponseCache cache = cache(FRESH);
+        prime(cache, "/items/2", "/requests/3", "/users/1");
+
+        write(cache, HttpMethod.PATCH, "/bookings/5");
+
+        assertFalse(isCached(cache, "/items/2"));
+        assertTrue(isCached(cache, "/requests/3"));
+        assertTrue(isCached(cache, "/users/1"));
+    }
+
+    @Test
+    void itemWriteShouldEvictRequests() throws IOException {
+        ResponseCache cache = cache(FRESH);
+        prime(cache, "/items/2", "/requests/3", "/users/1");
+
+        write(cache, HttpMethod.POST, "/items");
+
+        assertTrue(isCached(cache, "/items/2"));
+        assertFalse(isCached(cache, "/requests/3"));
+        assertTrue(isCached(cache, "/users/1"));
+    }
+
+    @Test
+    void userDeleteShouldEvictItemsAndRequests() throws IOException {
+        ResponseCache cache = cache(FRESH);
+        prime(cache, "/items/2", "/requests/3", "/users/1", "/users/4");
+
+        write(cache, HttpMethod.DELETE, "/users/1");
+
+        assertFalse(isCached(cache, "/items/2"));
+        assertFalse(isCached(cache, "/requests/3"));
+        assertFalse(isCached(cache, "/users/1"));
+        assertTrue(isCached(cache, "/users/4"));
+    }
+
+    private void prime(ResponseCache cache, String... paths) throws IOException {
+        for (String path : paths) {
+            server.respond(HttpStatus.OK, "\"" + path + "\"", path);
+            cache.intercept(get(path), new byte[0], server);
+        }
+    }
+
+    private void write(ResponseCache cache, HttpMethod method, String path) throws IOException {
+        server.respond(HttpStatus.OK, null, "");
+        cache.intercept(request(method, path), new byte[0], server);
+    }
+
+    private boolean isCached(ResponseCache cache, String path) throws IOException {
+        int sent = server.requests.size();
+        server.respond(HttpStatus.OK, "\"" + path + "\"", path);
+        cache.intercept(get(path), new byte[0], server);
+        return server.requests.size() == sent;
+    }
+
+    private ResponseCache cache(Duration fresh) {
+        return new ResponseCache(new SimpleMeterRegistry(), 1 << 20, fresh, Duration.ofMinutes(10));
+    }
+
+    private static MockClientHttpRequest get(String path) {
+        return request(HttpMethod.GET, path);
+    }
+
+    private static MockClientHttpRequest request(HttpMethod method, String path) {
+        MockClientHttpRequest request = new MockClientHttpRequest(method, URI.create("http://localhost:9090" + path));
+        request.getHeaders().set("X-Sharer-User-Id", "1");
+        return request;
+    }
+
+    private static String body(ClientHttpResponse response) throws IOException {
+        return new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Answers each request with the response queued last and records what was sent.
+     */
+    private static class Server implements ClientHttpRequestExecution {
+
+        private final List<MockClientHttpRequest> requests = new ArrayList<>();
+
+        private MockClientHttpResponse next;
+
+        void respond(HttpStatus status, String etag, String body) {
+            next = new MockClientHttpResponse(body.getBytes(StandardCharsets.UTF_8), status);
+            if (etag != null) {
+                next.getHeaders().setETag(etag);
+            }
+        }
+
+        @Override
+        @NonNull
+        public ClientHttpResponse execute(@NonNull HttpRequest request, @NonNull byte[] body) {
+            MockClientHttpRequest sent = new MockClientHttpRequest(request.getMethod(), request.getURI());
+            sent.getHeaders().putAll(request.getHeaders());
+            requests.add(sent);
+            return next;
+        }
+    }
+}
@@ -2,7 +2,11 @@ package ru.practicum.shareit;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.retry.annotation.EnableRetry;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+@EnableRetry
+@EnableScheduling
 @SpringBootApplication
 public class ShareItServer {
     public static void main(String[] args) {
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.batch;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import ru.practicum.shareit.exception.BadRequestException;
+
+import java.util.List;
+
+/**
+ * Outcome of one row of a batch request: the created resource, or the status and message
+ * the single-row endpoint would have answered with.
+ */
+@Getter
+@AllArgsConstructor
+public class BatchResult<T> {
+
+    public static final int MAX_ROWS = 1000;
+
+    private final int index;
+
+    private final int status;
+
+    private final T result;
+
+    private final String error;
+
+    public static <T> BatchResult<T> created(int index, T result) {
+        return new BatchResult<>(index, HttpStatus.CREATED.value(), result, null);
+    }
+
+    public static <T> BatchResult<T> failed(int index, HttpStatus status, String error) {
+        return new BatchResult<>(index, status.value(), null, error);
+    }
+
+    public static void checkSize(List<?> rows) {
+        if (rows.isEmpty() || rows.size() > MAX_ROWS) {
+            throw new BadRequestException("A batch must contain from 1 to " + MAX_ROWS + " rows");
+        }
+    }
+}
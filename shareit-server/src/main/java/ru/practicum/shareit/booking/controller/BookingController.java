@@ -1,6 +1,7 @@
 package ru.practicum.shareit.booking.controller;
 
 import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -11,9 +12,12 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.booking.dto.BookingDtoIn;
 import ru.practicum.shareit.booking.dto.BookingDtoOut;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.etag.ETags;
+import ru.practicum.shareit.pagination.Cursors;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
@@ -45,23 +49,37 @@ public class BookingController {
 
     @GetMapping("/{bookingId}")
     public BookingDtoOut getBookingById(@PathVariable Long bookingId,
-                                        @RequestHeader(USER_ID_HEADER) Long userId) {
-        return bookingService.getBookingById(bookingId, userId);
+                                        @RequestHeader(USER_ID_HEADER) Long userId,
+                                        WebRequest webRequest) {
+        BookingDtoOut booking = bookingService.getBookingById(bookingId, userId);
+        return webRequest.checkNotModified(ETags.booking(booking)) ? null : booking;
     }
 
     @GetMapping
-    public List<BookingDtoOut> getAllByBooker(@RequestHeader(USER_ID_HEADER) Long bookerId,
-                                              @RequestParam(required = false, defaultValue = "ALL") String state,
-                                              @Min(0) @RequestParam(defaultValue = "0") int from,
-                                              @Min(0) @RequestParam(defaultValue = "10") int size)  {
-        return bookingService.getAllByBooker(bookerId, state, from, size);
+    public ResponseEntity<List<BookingDtoOut>> getAllByBooker(@RequestHeader(USER_ID_HEADER) Long bookerId,
+                                                              @RequestParam(required = false, defaultValue = "ALL") String state,
+                                                              @Min(0) @RequestParam(defaultValue = "0") int from,
+                                                              @Min(0) @RequestParam(defaultValue = "10") int size,
+                                                              @RequestParam(required = false) String after)  {
+        List<BookingDtoOut> bookings = after == null
+                ? bookingService.getAllByBooker(bookerId, state, from, size)
+                : bookingService.getAllByBookerAfter(bookerId, state, after, size);
+        return Cursors.toResponse(bookings, size, BookingController::nextCursor);
     }
 
     @GetMapping("/owner")
-    public List<BookingDtoOut> getAllByOwner(@RequestHeader(USER_ID_HEADER) Long ownerId,
-                                             @RequestParam(required = false, defaultValue = "ALL") String state,
-                                             @Min(0) @RequestParam(defaultValue = "0") int from,
-                                             @Min(0) @RequestParam(defaultValue = "10") int size) {
-        return bookingService.getAllByOwner(ownerId, state, from, size);
+    public ResponseEntity<List<BookingDtoOut>> getAllByOwner(@RequestHeader(USER_ID_HEADER) Long ownerId,
+                                                             @RequestParam(required = false, defaultValue = "ALL") String state,
+                                                             @Min(0) @RequestParam(defaultValue = "0") int from,
+                                                             @Min(0) @RequestParam(defaultValue = "10") int size,
+                                                             @RequestParam(required = false) String after) {
+        List<BookingDtoOut> bookings = after == null
+                ? bookingService.getAllByOwner(ownerId, state, from, size)
+                : bookingService.getAllByOwnerAfter(ownerId, state, after, size);
+        return Cursors.toResponse(bookings, size, BookingController::nextCursor);
+    }
+
+    private static String nextCursor(BookingDtoOut booking) {
+        return Cursors.encodeBooking(booking.getStart(), booking.getId());
     }
 }
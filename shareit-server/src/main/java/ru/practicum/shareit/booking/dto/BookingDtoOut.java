@@ -1,5 +1,6 @@
 package ru.practicum.shareit.booking.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -28,4 +29,21 @@ public class BookingDtoOut {
     private User booker;
 
     private BookingStatus status;
+
+    @JsonIgnore
+    private Long version;
+
+    /**
+     * Builds a list row straight from the columns of a booking, its item and its booker, so list queries
+     * select flat values instead of loading the entities.
+     */
+    public BookingDtoOut(Long id, LocalDateTime start, LocalDateTime end, BookingStatus status, Long version,
+                         Long itemId, String itemName, String itemDescription, Boolean itemAvailable,
+                         Long itemRequestId, Long itemVersion,
+                         Long bookerId, String bookerName, String bookerEmail, Long bookerVersion) {
+        this(id, start, end,
+                new ItemDto(itemId, itemName, itemDescription, itemAvailable, itemRequestId, itemVersion),
+                new User(bookerId, bookerName, bookerEmail, bookerVersion),
+                status, version);
+    }
 }
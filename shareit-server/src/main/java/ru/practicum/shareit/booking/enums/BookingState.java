@@ -1,10 +1,42 @@
 package ru.practicum.shareit.booking.enums;
 
+import ru.practicum.shareit.exception.BadRequestException;
+
 public enum BookingState {
     ALL,
     CURRENT,
     PAST,
     FUTURE,
-    WAITING,
-    REJECTED
-}
\ No newline at end of file
+    WAITING(BookingStatus.WAITING),
+    APPROVED(BookingStatus.APPROVED),
+    REJECTED(BookingStatus.REJECTED),
+    CANCELED(BookingStatus.CANCELED);
+
+    private final BookingStatus status;
+
+    BookingState() {
+        this(null);
+    }
+
+    BookingState(BookingStatus status) {
+        this.status = status;
+    }
+
+    /**
+     * Status the bookings of this state have, {@code null} for the states defined by time.
+     */
+    public BookingStatus getStatus() {
+        return status;
+    }
+
+    public static BookingState parse(String state) {
+        if (state.isEmpty()) {
+            return ALL;
+        }
+        try {
+            return valueOf(state);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unknown state: " + state);
+        }
+    }
+}
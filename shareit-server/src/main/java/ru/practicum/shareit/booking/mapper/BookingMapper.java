@@ -8,9 +8,6 @@ import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class BookingMapper {
 
@@ -23,6 +20,7 @@ public class BookingMapper {
                 .item(itemDto)
                 .booker(booking.getBooker())
                 .status(booking.getStatus())
+                .version(booking.getVersion())
                 .build();
     }
 
@@ -36,10 +34,4 @@ public class BookingMapper {
             return null;
         }
     }
-
-    public static List<BookingDtoOut> mapToBookingsDtoOut(List<Booking> bookings) {
-        return bookings.stream()
-                .map(BookingMapper::mapToBookingDtoOut)
-                .collect(Collectors.toList());
-    }
 }
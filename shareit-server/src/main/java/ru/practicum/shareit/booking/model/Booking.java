@@ -13,12 +13,18 @@ import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
+import javax.persistence.NamedSubgraph;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
+import javax.persistence.Version;
 import javax.validation.constraints.FutureOrPresent;
 import javax.validation.constraints.NotNull;
 import java.time.LocalDateTime;
@@ -30,10 +36,19 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @NoArgsConstructor
 @Table(name = "bookings")
+@NamedEntityGraph(name = Booking.DETAIL,
+        attributeNodes = {@NamedAttributeNode(value = "item", subgraph = "item"), @NamedAttributeNode("booker")},
+        subgraphs = @NamedSubgraph(name = "item", attributeNodes = @NamedAttributeNode("owner")))
 public class Booking {
 
+    /**
+     * Single booking reads and approval: the item with its owner (for the access check) and the booker.
+     */
+    public static final String DETAIL = "Booking.detail";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     private Long id;
 
     @FutureOrPresent
@@ -47,15 +62,18 @@ public class Booking {
     private LocalDateTime end;
 
     @NotNull
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id")
     private Item item;
 
     @NotNull
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "booker_id")
     private User booker;
 
     @Enumerated(EnumType.STRING)
     private BookingStatus status;
+
+    @Version
+    private Long version;
 }
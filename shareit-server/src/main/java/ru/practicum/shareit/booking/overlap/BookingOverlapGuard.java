@@ -0,0 +1,26 @@
+package ru.practicum.shareit.booking.overlap;
+
+import ru.practicum.shareit.booking.model.Booking;
+
+/**
+ * Keeps approved bookings of an item from overlapping. Waiting bookings may compete for the
+ * same period, the owner approves one of them.
+ */
+public interface BookingOverlapGuard {
+
+    /**
+     * Rejects a new booking that overlaps an already approved booking of the item.
+     */
+    void check(Booking booking);
+
+    /**
+     * Rejects the approval of an overlapping booking, otherwise holds the period for it
+     * until the surrounding transaction completes.
+     */
+    void reserve(Booking booking);
+
+    /**
+     * Frees the period of a previously approved booking.
+     */
+    void release(Booking booking);
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.booking.overlap;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+/**
+ * Overlap check served by the {@code (item_id, start_date, end_date)} index of {@code bookings}.
+ * Approvals lock the item row first, so concurrent approvals of the same item are serialized.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.bookings.overlap", havingValue = "database", matchIfMissing = true)
+public class DatabaseBookingOverlapGuard implements BookingOverlapGuard {
+
+    private final BookingRepository bookingRepository;
+
+    private final ItemRepository itemRepository;
+
+    @Override
+    public void check(Booking booking) {
+        if (bookingRepository.existsByItemIdAndStatusAndStartBeforeAndEndAfter(booking.getItem().getId(),
+                BookingStatus.APPROVED, booking.getEnd(), booking.getStart())) {
+            throw new ValidationException("Booking overlaps an approved booking");
+        }
+    }
+
+    @Override
+    public void reserve(Booking booking) {
+        itemRepository.lockById(booking.getItem().getId());
+        check(booking);
+    }
+
+    @Override
+    public void release(Booking booking) {
+    }
+}
@@ -0,0 +1,92 @@
+package ru.practicum.shareit.booking.overlap;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-item interval trees of approved bookings, loaded on first use of an item. A reservation
+ * is visible to other transactions right away and is undone when its own transaction rolls back.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.bookings.overlap", havingValue = "memory")
+public class InMemoryBookingOverlapGuard implements BookingOverlapGuard {
+
+    private final BookingRepository bookingRepository;
+
+    private final Map<Long, IntervalTree> trees = new ConcurrentHashMap<>();
+
+    @Override
+    public void check(Booking booking) {
+        IntervalTree tree = tree(booking.getItem().getId());
+        synchronized (tree) {
+            checkOverlap(tree, booking);
+        }
+    }
+
+    @Override
+    public void reserve(Booking booking) {
+        IntervalTree tree = tree(booking.getItem().getId());
+        synchronized (tree) {
+            checkOverlap(tree, booking);
+            tree.insert(booking.getStart(), booking.getEnd(), booking.getId());
+        }
+        onRollback(() -> {
+            synchronized (tree) {
+                tree.release(booking.getStart(), booking.getId());
+            }
+        });
+    }
+
+    @Override
+    public void release(Booking booking) {
+        IntervalTree tree = tree(booking.getItem().getId());
+        synchronized (tree) {
+            tree.remove(booking.getStart(), booking.getId());
+        }
+        onRollback(() -> {
+            synchronized (tree) {
+                tree.insert(booking.getStart(), booking.getEnd(), booking.getId());
+            }
+        });
+    }
+
+    private IntervalTree tree(Long itemId) {
+        return trees.computeIfAbsent(itemId, id -> {
+            IntervalTree tree = new IntervalTree();
+            bookingRepository.findByItemIdAndStatus(id, BookingStatus.APPROVED)
+                    .forEach(booking -> tree.insert(booking.getStart(), booking.getEnd(), booking.getId()));
+            return tree;
+        });
+    }
+
+    private static void checkOverlap(IntervalTree tree, Booking booking) {
+        if (tree.overlapsOther(booking.getStart(), booking.getEnd(), booking.getId())) {
+            throw new ValidationException("Booking overlaps an approved booking");
+        }
+    }
+
+    private static void onRollback(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+}
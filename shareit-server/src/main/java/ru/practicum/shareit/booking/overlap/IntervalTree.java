@@ -0,0 +1,202 @@
+package ru.practicum.shareit.booking.overlap;
+
+import java.time.LocalDateTime;
+
+/**
+ * AVL tree of half-open periods {@code [start, end)} ordered by start and booking id, every node
+ * keeps the latest end of its subtree so an overlap lookup only descends into subtrees that can
+ * still contain one. A period inserted several times stays until it is released as often or
+ * removed. Not thread-safe.
+ */
+class IntervalTree {
+
+    private Node root;
+
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        return overlaps(root, start, end, null);
+    }
+
+    boolean overlapsOther(LocalDateTime start, LocalDateTime end, Long id) {
+        return overlaps(root, start, end, id);
+    }
+
+    void insert(LocalDateTime start, LocalDateTime end, Long id) {
+        root = insert(root, new Node(start, end, id));
+    }
+
+    void release(LocalDateTime start, Long id) {
+        Node node = find(start, id);
+        if (node != null && --node.holds > 0) {
+            return;
+        }
+        remove(start, id);
+    }
+
+    void remove(LocalDateTime start, Long id) {
+        root = remove(root, start, id);
+    }
+
+    private static boolean overlaps(Node node, LocalDateTime start, LocalDateTime end, Long excluded) {
+        if (node == null || !node.maxEnd.isAfter(start)) {
+            return false;
+        }
+        if (node.start.isBefore(end) && node.end.isAfter(start) && !node.id.equals(excluded)) {
+            return true;
+        }
+        return overlaps(node.left, start, end, excluded)
+                || node.start.isBefore(end) && overlaps(node.right, start, end, excluded);
+    }
+
+    private Node find(LocalDateTime start, Long id) {
+        Node node = root;
+        while (node != null) {
+            int cmp = compare(start, id, node);
+            if (cmp == 0) {
+                return node;
+            }
+            node = cmp < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    private Node insert(Node node, Node added) {
+        if (node == null) {
+            size++;
+            return added;
+        }
+        int cmp = compare(added.start, added.id, node);
+        if (cmp < 0) {
+            node.left = insert(node.left, added);
+        } else if (cmp > 0) {
+            node.right = insert(node.right, added);
+        } else {
+            node.holds++;
+        }
+        return balance(node);
+    }
+
+    private Node remove(Node node, LocalDateTime start, Long id) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(start, id, node);
+        if (cmp < 0) {
+            node.left = remove(node.left, start, id);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, start, id);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node min = node.right;
+            while (min.left != null) {
+                min = min.left;
+            }
+            node.right = removeMin(node.right);
+            min.left = node.left;
+            min.right = node.right;
+            node = min;
+        }
+        return balance(node);
+    }
+
+    private static Node removeMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeMin(node.left);
+        return balance(node);
+    }
+
+    private static int compare(LocalDateTime start, Long id, Node node) {
+        int cmp = start.compareTo(node.start);
+        return cmp != 0 ? cmp : Long.compare(id, node.id);
+    }
+
+    private static Node balance(Node node) {
+        update(node);
+        int factor = height(node.left) - height(node.right);
+        if (factor > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (factor < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        node.maxEnd = node.end;
+        if (node.left != null && node.left.maxEnd.isAfter(node.maxEnd)) {
+            node.maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd.isAfter(node.maxEnd)) {
+            node.maxEnd = node.right.maxEnd;
+        }
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static class Node {
+
+        private final LocalDateTime start;
+
+        private final Long id;
+
+        private final LocalDateTime end;
+
+        private LocalDateTime maxEnd;
+
+        private int height = 1;
+
+        private int holds = 1;
+
+        private Node left;
+
+        private Node right;
+
+        Node(LocalDateTime start, LocalDateTime end, Long id) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.maxEnd = end;
+        }
+    }
+}
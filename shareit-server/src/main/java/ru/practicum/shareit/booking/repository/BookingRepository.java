@@ -1,72 +1,39 @@
 package ru.practicum.shareit.booking.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.enums.BookingStatus;
 import ru.practicum.shareit.booking.model.Booking;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
 
-    List<Booking> findByBookerIdOrderByStartDesc(Long userId, Pageable pageable);
+    @EntityGraph(Booking.DETAIL)
+    Optional<Booking> findDetailById(Long id);
 
-    List<Booking> findByBookerIdAndStartAfterOrderByStartDesc(Long userId, LocalDateTime nowTime, Pageable pageable);
+    @Query("select b from Booking b " +
+            "where b.item.id in ?1 and b.status = ?2 and b.start < ?3 " +
+            "and b.end = (select max(l.end) from Booking l " +
+            "where l.item.id = b.item.id and l.status = ?2 and l.start < ?3)")
+    List<Booking> findLastByItemIdIn(Collection<Long> itemIds, BookingStatus status, LocalDateTime now);
 
-    List<Booking> findByBookerIdAndEndBeforeOrderByStartDesc(Long userId, LocalDateTime nowTime, Pageable pageable);
+    @Query("select b from Booking b " +
+            "where b.item.id in ?1 and b.status = ?2 and b.start > ?3 " +
+            "and b.start = (select min(n.start) from Booking n " +
+            "where n.item.id = b.item.id and n.status = ?2 and n.start > ?3)")
+    List<Booking> findNextByItemIdIn(Collection<Long> itemIds, BookingStatus status, LocalDateTime now);
 
-    List<Booking> findByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(Long userId,
-                                                                          LocalDateTime nowStart,
-                                                                          LocalDateTime nowEnd, Pageable pageable);
+    boolean existsByItemIdAndStatusAndStartBeforeAndEndAfter(Long itemId, BookingStatus status,
+                                                             LocalDateTime end, LocalDateTime start);
 
-    @Query(value = "select * from bookings b" +
-            " where b.booker_id = ?1 and b.status = ?2  order by b.start_date desc", nativeQuery = true)
-    List<Booking> findByBookerIdAndStatus(Long userId, String state, Pageable pageable);
-
-    @Query(value = "select * from bookings b " +
-            "where b.item_id in " +
-            "(select i.id from items i " +
-            "where i.owner_id =?1) " +
-            "order by b.start_date desc", nativeQuery = true)
-    List<Booking> findByOwnerId(Long ownerId, Pageable pageable);
-
-    @Query(value = "select * from bookings b " +
-            "where b.item_id in " +
-            "(select i.id from items i " +
-            "where i.owner_id =?1) " +
-            "and b.start_date > current_timestamp order by b.start_date desc", nativeQuery = true)
-    List<Booking> findByOwnerIdFuture(Long ownerId, Pageable pageable);
-
-    @Query(value = "select * from bookings b " +
-            "where b.item_id in (select i.id from items i where i.owner_id =?1) " +
-            "and b.end_date < current_timestamp " +
-            "order by b.start_date desc", nativeQuery = true)
-    List<Booking> findByOwnerIdPast(Long ownerId, Pageable pageable);
-
-    @Query(value = "select * from bookings b " +
-            "where b.item_id in (select i.id from items i where i.owner_id =?1) " +
-            "and b.start_date < current_timestamp and b.end_date > current_timestamp " +
-            "order by b.start_date desc", nativeQuery = true)
-    List<Booking> findByOwnerIdCurrent(Long ownerId, Pageable pageable);
-
-    @Query(value = "select * from bookings b " +
-            "where b.item_id in (select i.id from items i where i.owner_id =?1) " +
-            "and b.status = ?2 " +
-            "order by b.start_date desc", nativeQuery = true)
-    List<Booking> findByOwnerIdState(Long ownerId, String state, Pageable pageable);
-
-    @Query(value = "select * from bookings b " +
-            "where b.item_id=?1 and b.start_date < current_timestamp and b.status = 'APPROVED' " +
-            "order by b.end_date desc limit 1", nativeQuery = true)
-    Booking findByItemIdLast(Long itemId);
-
-    @Query(value = "select * from bookings b " +
-            "where b.item_id=?1  and b.start_date > current_timestamp and b.status = 'APPROVED' " +
-            "order by b.start_date limit 1", nativeQuery = true)
-    Booking findByItemIdNext(Long itemId);
+    List<Booking> findByItemIdAndStatus(Long itemId, BookingStatus status);
 
     @Query(value = "select * from bookings b " +
             "where b.item_id = ?1 and b.booker_id = ?2 and b.end_date < current_timestamp " +
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking.repository;
+
+import ru.practicum.shareit.booking.dto.BookingDtoOut;
+import ru.practicum.shareit.booking.enums.BookingState;
+import ru.practicum.shareit.pagination.BookingCursor;
+
+import java.util.List;
+
+public interface BookingRepositoryCustom {
+
+    List<BookingDtoOut> findByBookerId(Long bookerId, BookingState state, int offset, int size);
+
+    List<BookingDtoOut> findByOwnerId(Long ownerId, BookingState state, int offset, int size);
+
+    List<BookingDtoOut> findByBookerIdAfter(Long bookerId, BookingState state, BookingCursor after, int size);
+
+    List<BookingDtoOut> findByOwnerIdAfter(Long ownerId, BookingState state, BookingCursor after, int size);
+}
@@ -0,0 +1,106 @@
+package ru.practicum.shareit.booking.repository;
+
+import ru.practicum.shareit.booking.dto.BookingDtoOut;
+import ru.practicum.shareit.booking.enums.BookingState;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.BookingCursor;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Booker and owner booking lists for every state, built as one query shape: the user column, at most
+ * one time or status condition, and the order {@code (start_date desc, id desc)}. A page is either an
+ * offset or a keyset page; the latter compares the cursor row instead of skipping rows, so a deep page
+ * costs the same as the first one.
+ * <p>
+ * Rows are selected as {@link BookingDtoOut} from the booking, item and booker columns, so a page does not
+ * put entities (and their snapshots) into the persistence context or touch the lazy item owner.
+ */
+public class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookingDtoOut> findByBookerId(Long bookerId, BookingState state, int offset, int size) {
+        return find(false, bookerId, state, null, offset, size);
+    }
+
+    @Override
+    public List<BookingDtoOut> findByOwnerId(Long ownerId, BookingState state, int offset, int size) {
+        return find(true, ownerId, state, null, offset, size);
+    }
+
+    @Override
+    public List<BookingDtoOut> findByBookerIdAfter(Long bookerId, BookingState state, BookingCursor after, int size) {
+        return find(false, bookerId, state, after, 0, size);
+    }
+
+    @Override
+    public List<BookingDtoOut> findByOwnerIdAfter(Long ownerId, BookingState state, BookingCursor after, int size) {
+        return find(true, ownerId, state, after, 0, size);
+    }
+
+    private List<BookingDtoOut> find(boolean byOwner, Long userId, BookingState state,
+                                     BookingCursor after, int offset, int size) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookingDtoOut> query = builder.createQuery(BookingDtoOut.class);
+        Root<Booking> booking = query.from(Booking.class);
+        Join<Booking, Item> item = booking.join("item");
+        Join<Booking, User> booker = booking.join("booker");
+        Path<Long> user = byOwner ? item.get("owner").get("id") : booking.get("booker").get("id");
+        Path<LocalDateTime> start = booking.get("start");
+        Path<LocalDateTime> end = booking.get("end");
+        Path<Long> id = booking.get("id");
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(builder.equal(user, userId));
+        switch (state) {
+            case ALL:
+                break;
+            case CURRENT:
+                predicates.add(builder.lessThan(start, now));
+                predicates.add(builder.greaterThan(end, now));
+                break;
+            case PAST:
+                predicates.add(builder.lessThan(end, now));
+                break;
+            case FUTURE:
+                predicates.add(builder.greaterThan(start, now));
+                break;
+            default:
+                predicates.add(builder.equal(booking.get("status"), state.getStatus()));
+                break;
+        }
+        if (after != null) {
+            predicates.add(builder.or(
+                    builder.lessThan(start, after.getStart()),
+                    builder.and(builder.equal(start, after.getStart()), builder.lessThan(id, after.getId()))));
+        }
+
+        query.select(builder.construct(BookingDtoOut.class,
+                        id, start, end, booking.get("status"), booking.get("version"),
+                        item.get("id"), item.get("name"), item.get("description"), item.get("available"),
+                        item.get("request").get("id"), item.get("version"),
+                        booker.get("id"), booker.get("name"), booker.get("email"), booker.get("version")))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(builder.desc(start), builder.desc(id));
+        return entityManager.createQuery(query)
+                .setFirstResult(offset)
+                .setMaxResults(size)
+                .getResultList();
+    }
+}
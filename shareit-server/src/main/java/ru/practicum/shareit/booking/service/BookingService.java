@@ -16,4 +16,8 @@ public interface BookingService {
     List<BookingDtoOut> getAllByBooker(Long bookerId, String state, int from, int size);
 
     List<BookingDtoOut> getAllByOwner(Long ownerId, String state, int from, int size);
+
+    List<BookingDtoOut> getAllByBookerAfter(Long bookerId, String state, String after, int size);
+
+    List<BookingDtoOut> getAllByOwnerAfter(Long ownerId, String state, String after, int size);
 }
@@ -2,27 +2,30 @@ package ru.practicum.shareit.booking.service;
 
 import lombok.Builder;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
-import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.booking.dto.BookingDtoIn;
 import ru.practicum.shareit.booking.dto.BookingDtoOut;
 import ru.practicum.shareit.booking.enums.BookingState;
 import ru.practicum.shareit.booking.enums.BookingStatus;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.overlap.BookingOverlapGuard;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemBookingPointers;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.Cursors;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
 import javax.transaction.Transactional;
 import javax.validation.ConstraintViolation;
-import javax.validation.Validation;
-import java.time.LocalDateTime;
+import javax.validation.Validator;
 import java.util.List;
 import java.util.Set;
 
@@ -38,10 +41,16 @@ public class BookingServiceImpl implements BookingService {
 
     private final BookingRepository bookingRepository;
 
+    private final ItemBookingPointers itemBookingPointers;
+
+    private final BookingOverlapGuard bookingOverlapGuard;
+
+    private final Validator validator;
+
     @Override
     @Transactional
     public BookingDtoOut createBooking(BookingDtoIn bookingDtoIn, Long userId) {
-        User user = userService.getUserById(userId);
+        User user = userService.getUserReference(userId);
         Item item = itemService.getItemById(bookingDtoIn.getItemId());
 
         checkItemBooking(item, userId, bookingDtoIn);
@@ -55,11 +64,15 @@ public class BookingServiceImpl implements BookingService {
                 .build();
 
         validateBookingConstraints(booking);
+        bookingOverlapGuard.check(booking);
         return BookingMapper.mapToBookingDtoOut(bookingRepository.save(booking));
     }
 
     @Override
     @Transactional
+    @Retryable(value = OptimisticLockingFailureException.class,
+            maxAttemptsExpression = "${shareit.retry.max-attempts:3}",
+            backoff = @Backoff(delayExpression = "${shareit.retry.delay-ms:10}", multiplier = 2, random = true))
     public BookingDtoOut updateBooking(Boolean approved, Long bookingId, Long userId) {
         Booking booking = getBookingById(bookingId);
         Item item = booking.getItem();
@@ -72,11 +85,17 @@ public class BookingServiceImpl implements BookingService {
             throw new BadRequestException("Repeated approval");
         }
         if (approved) {
+            bookingOverlapGuard.reserve(booking);
             booking.setStatus(BookingStatus.APPROVED);
         } else {
+            if (booking.getStatus().equals(BookingStatus.APPROVED)) {
+                bookingOverlapGuard.release(booking);
+            }
             booking.setStatus(BookingStatus.REJECTED);
         }
-        return BookingMapper.mapToBookingDtoOut(bookingRepository.save(booking));
+        Booking savedBooking = bookingRepository.save(booking);
+        itemBookingPointers.refresh(List.of(item));
+        return BookingMapper.mapToBookingDtoOut(savedBooking);
     }
 
     @Override
@@ -97,62 +116,39 @@ public class BookingServiceImpl implements BookingService {
     @Override
     @Transactional
     public List<BookingDtoOut> getAllByBooker(Long bookerId, String state, int from, int size) {
-        Pageable pageable = PageRequest.of(from / size, size);
         userService.getUserById(bookerId);
-        if (state.equals(String.valueOf(BookingState.ALL)) || state.isEmpty()) {
-            return BookingMapper.mapToBookingsDtoOut(bookingRepository
-                    .findByBookerIdOrderByStartDesc(bookerId, pageable));
-        } else if (state.equals(String.valueOf(BookingState.FUTURE))) {
-            return BookingMapper.mapToBookingsDtoOut(bookingRepository
-                    .findByBookerIdAndStartAfterOrderByStartDesc(bookerId, LocalDateTime.now(), pageable));
-        } else if (state.equals(String.valueOf(BookingState.PAST))) {
-            return BookingMapper.mapToBookingsDtoOut(bookingRepository
-                    .findByBookerIdAndEndBeforeOrderByStartDesc(bookerId, LocalDateTime.now(), pageable));
-        } else if (state.equals(String.valueOf(BookingState.CURRENT))) {
-            return BookingMapper.mapToBookingsDtoOut(bookingRepository
-                    .findByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(bookerId,
-                            LocalDateTime.now(), LocalDateTime.now(), pageable));
-        } else if (state.equals(String.valueOf(BookingState.WAITING)) || state
-                .equals(String.valueOf(BookingState.REJECTED))) {
-            return BookingMapper.mapToBookingsDtoOut(bookingRepository
-                    .findByBookerIdAndStatus(bookerId, state, pageable));
-        } else {
-            throw new BadRequestException("Unknown state: " + state);
-        }
+        BookingState bookingState = BookingState.parse(state);
+        return bookingRepository.findByBookerId(bookerId, bookingState, from / size * size, size);
     }
 
     @Override
     @Transactional
     public List<BookingDtoOut> getAllByOwner(Long ownerId, String state, int from, int size) {
-        Pageable pageable = PageRequest.of(from / size, size);
         userService.getUserById(ownerId);
-        if (state.equals(String.valueOf(BookingState.ALL)) || state.isEmpty()) {
-            return BookingMapper.mapToBookingsDtoOut(bookingRepository
-                    .findByOwnerId(ownerId, pageable));
-        } else if (state.equals(String.valueOf(BookingState.FUTURE))) {
-            return BookingMapper.mapToBookingsDtoOut(bookingRepository
-                    .findByOwnerIdFuture(ownerId, pageable));
-        } else if (state.equals(String.valueOf(BookingState.PAST))) {
-            return BookingMapper.mapToBookingsDtoOut(bookingRepository
-                    .findByOwnerIdPast(ownerId, pageable));
-        } else if (state.equals(String.valueOf(BookingState.CURRENT))) {
-            return BookingMapper.mapToBookingsDtoOut(bookingRepository
-                    .findByOwnerIdCurrent(ownerId, pageable));
-        } else if (state.equals(String.valueOf(BookingState.WAITING)) || state
-                .equals(String.valueOf(BookingState.REJECTED))) {
-            return BookingMapper.mapToBookingsDtoOut(bookingRepository
-                    .findByOwnerIdState(ownerId, state, pageable));
-        } else {
-            throw new BadRequestException("Unknown state: " + state);
-        }
+        BookingState bookingState = BookingState.parse(state);
+        return bookingRepository.findByOwnerId(ownerId, bookingState, from / size * size, size);
+    }
+
+    @Override
+    @Transactional
+    public List<BookingDtoOut> getAllByBookerAfter(Long bookerId, String state, String after, int size) {
+        userService.getUserById(bookerId);
+        return bookingRepository
+                .findByBookerIdAfter(bookerId, BookingState.parse(state), Cursors.decodeBooking(after), size);
+    }
+
+    @Override
+    @Transactional
+    public List<BookingDtoOut> getAllByOwnerAfter(Long ownerId, String state, String after, int size) {
+        userService.getUserById(ownerId);
+        return bookingRepository
+                .findByOwnerIdAfter(ownerId, BookingState.parse(state), Cursors.decodeBooking(after), size);
     }
 
     @Transactional
     public Booking getBookingById(Long bookingId) {
-        if (!bookingRepository.existsById(bookingId)) {
-            throw new NotFoundException("Booking with Id = " + bookingId + " doesn't exist");
-        }
-        return bookingRepository.findById(bookingId).get();
+        return bookingRepository.findDetailById(bookingId)
+                .orElseThrow(() -> new NotFoundException("Booking with Id = " + bookingId + " doesn't exist"));
     }
 
     private void checkItemBooking(Item item, Long userId, BookingDtoIn bookingDtoIn) {
@@ -171,10 +167,7 @@ public class BookingServiceImpl implements BookingService {
     }
 
     private void validateBookingConstraints(Booking booking) {
-        Set<ConstraintViolation<Booking>> violations = Validation
-                .buildDefaultValidatorFactory()
-                .getValidator()
-                .validate(booking);
+        Set<ConstraintViolation<Booking>> violations = validator.validate(booking);
         if (!violations.isEmpty()) {
             throw new BadRequestException("Booking data has not been validated");
         }
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Bounded caches for hot lookups, holding immutable snapshots of user, item and item request rows, never
+ * entities: a cached value is shared between threads and must not join another persistence context.
+ * Writers that need a foreign key take a reference instead. Puts and evictions are applied after
+ * commit, so a rolled back transaction never leaves its rows behind. Misses are not cached.
+ */
+@EnableCaching
+@Configuration
+public class CacheConfig {
+
+    public static final String USERS = "users";
+
+    public static final String ITEMS = "items";
+
+    public static final String ITEM_REQUESTS = "itemRequests";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${shareit.cache.spec:maximumSize=10000,expireAfterWrite=10m,recordStats}")
+                                     String spec) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCacheSpecification(spec);
+        cacheManager.setCacheNames(List.of(USERS, ITEMS, ITEM_REQUESTS));
+        cacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.metrics.MethodTimingAspect;
+
+/**
+ * Latency timers on services and booking queries, see {@link MethodTimingAspect}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MethodTimingAspect methodTimingAspect(MeterRegistry meterRegistry) {
+        return new MethodTimingAspect(meterRegistry);
+    }
+}
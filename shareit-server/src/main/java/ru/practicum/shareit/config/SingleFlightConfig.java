@@ -0,0 +1,20 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.item.dto.ItemDtoBooking;
+import ru.practicum.shareit.item.service.ItemView;
+import ru.practicum.shareit.singleflight.SingleFlight;
+
+/**
+ * Shared in-flight computations for hot reads, see {@link SingleFlight}.
+ */
+@Configuration
+public class SingleFlightConfig {
+
+    @Bean
+    public SingleFlight<ItemView, ItemDtoBooking> itemReads(MeterRegistry meterRegistry) {
+        return new SingleFlight<>("item-reads", meterRegistry);
+    }
+}
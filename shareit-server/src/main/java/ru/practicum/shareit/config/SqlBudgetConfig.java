@@ -0,0 +1,60 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import ru.practicum.shareit.sqlbudget.SqlBudgetInterceptor;
+import ru.practicum.shareit.sqlbudget.SqlCountingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Per-request SQL statistics and statement budgets, see {@link SqlBudgetInterceptor}. Budgets are set
+ * per handler under {@code shareit.sql.budget.endpoints}, e.g. {@code "[ItemController.getItemsByUserId]": 2}.
+ * {@code shareit.sql.budget.fail} only fails calls made through MockMvc, see the interceptor.
+ */
+@Configuration
+public class SqlBudgetConfig implements WebMvcConfigurer {
+
+    private final SqlBudgetInterceptor sqlBudgetInterceptor;
+
+    public SqlBudgetConfig(ObjectProvider<MeterRegistry> meterRegistry, Environment environment,
+                           @Value("${shareit.sql.budget.default:10}") int defaultBudget,
+                           @Value("${shareit.sql.budget.fail:false}") boolean fail) {
+        Map<String, Integer> budgets = Binder.get(environment)
+                .bind("shareit.sql.budget.endpoints", Bindable.mapOf(String.class, Integer.class))
+                .orElse(Map.of());
+        // web slice tests run without metrics auto-configuration
+        this.sqlBudgetInterceptor = new SqlBudgetInterceptor(meterRegistry.getIfAvailable(SimpleMeterRegistry::new),
+                defaultBudget, budgets, fail);
+    }
+
+    @Bean
+    public static BeanPostProcessor sqlCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+                if (bean instanceof DataSource && !(bean instanceof SqlCountingDataSource)) {
+                    return new SqlCountingDataSource((DataSource) bean);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(sqlBudgetInterceptor);
+    }
+}
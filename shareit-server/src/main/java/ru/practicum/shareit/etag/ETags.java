@@ -0,0 +1,61 @@
+package ru.practicum.shareit.etag;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.booking.dto.BookingDtoForItem;
+import ru.practicum.shareit.booking.dto.BookingDtoOut;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemDtoBooking;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.user.dto.UserSnapshot;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Entity tags for single-resource reads, built from the {@code @Version} columns of everything
+ * a response shows instead of hashing the serialized body. Used with
+ * {@link org.springframework.web.context.request.WebRequest#checkNotModified(String)}.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ETags {
+
+    public static String user(UserSnapshot user) {
+        return "u" + user.getId() + "-" + user.getVersion();
+    }
+
+    public static String item(ItemDtoBooking item) {
+        // comments are append-only, their count and newest id identify the list; author versions only
+        // grow, so their sum changes whenever an author shown with a comment is renamed
+        List<CommentDto> comments = item.getComments() != null ? item.getComments() : List.of();
+        long lastCommentId = 0;
+        long authorVersions = 0;
+        for (CommentDto comment : comments) {
+            lastCommentId = Math.max(lastCommentId, comment.getId());
+            authorVersions += comment.getAuthorVersion() != null ? comment.getAuthorVersion() : 0;
+        }
+        return "i" + item.getId() + "-" + item.getVersion()
+                + "-" + bookingId(item.getLastBooking()) + "-" + bookingId(item.getNextBooking())
+                + "-" + comments.size() + "." + lastCommentId + "." + authorVersions;
+    }
+
+    public static String booking(BookingDtoOut booking) {
+        return "b" + booking.getId() + "-" + booking.getVersion()
+                + "-" + (booking.getItem() != null ? booking.getItem().getVersion() : null)
+                + "-" + (booking.getBooker() != null ? booking.getBooker().getVersion() : null);
+    }
+
+    public static String request(ItemRequestDto request) {
+        List<ItemDto> items = request.getItems() != null ? request.getItems() : List.of();
+        // every item id and version, a digest could collide and answer a changed list with 304
+        String itemVersions = items.stream()
+                .map(item -> item.getId() + ":" + item.getVersion())
+                .collect(Collectors.joining("."));
+        return "r" + request.getId() + "-" + items.size() + "-" + itemVersions;
+    }
+
+    private static Long bookingId(BookingDtoForItem booking) {
+        return booking != null ? booking.getId() : null;
+    }
+}
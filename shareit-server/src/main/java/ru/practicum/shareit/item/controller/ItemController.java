@@ -2,6 +2,7 @@ package ru.practicum.shareit.item.controller;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -11,11 +12,15 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.batch.BatchResult;
+import ru.practicum.shareit.etag.ETags;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoBooking;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.Cursors;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
@@ -37,10 +42,18 @@ public class ItemController {
         return itemService.createItem(itemDto, userId);
     }
 
+    @PostMapping("/batch")
+    public List<BatchResult<ItemDto>> createItems(@RequestBody List<ItemDto> itemDtos,
+                                                  @RequestHeader(USER_ID_HEADER) Long userId) {
+        return itemService.createItems(itemDtos, userId);
+    }
+
     @GetMapping("/{itemId}")
     public ItemDtoBooking getItemById(@PathVariable Long itemId,
-                                      @RequestHeader(USER_ID_HEADER) Long userId) {
-        return itemService.getItemById(itemId, userId);
+                                      @RequestHeader(USER_ID_HEADER) Long userId,
+                                      WebRequest webRequest) {
+        ItemDtoBooking item = itemService.getItemById(itemId, userId);
+        return webRequest.checkNotModified(ETags.item(item)) ? null : item;
     }
 
     @PatchMapping("/{itemId}")
@@ -53,10 +66,14 @@ public class ItemController {
     }
 
     @GetMapping
-    public List<ItemDtoBooking> getItemsByUserId(@RequestHeader(USER_ID_HEADER) Long userId,
-                                                 @Min(0) @RequestParam(defaultValue = "0") int from,
-                                                 @Min(0) @RequestParam(defaultValue = "10") int size) {
-        return itemService.getItemsByUserId(userId, from, size);
+    public ResponseEntity<List<ItemDtoBooking>> getItemsByUserId(@RequestHeader(USER_ID_HEADER) Long userId,
+                                                                 @Min(0) @RequestParam(defaultValue = "0") int from,
+                                                                 @Min(0) @RequestParam(defaultValue = "10") int size,
+                                                                 @RequestParam(required = false) String after) {
+        List<ItemDtoBooking> items = after == null
+                ? itemService.getItemsByUserId(userId, from, size)
+                : itemService.getItemsByUserIdAfter(userId, after, size);
+        return Cursors.toResponse(items, size, item -> Cursors.encodeItem(item.getId()));
     }
 
     @GetMapping("/search")
@@ -1,5 +1,7 @@
 package ru.practicum.shareit.item.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
@@ -9,6 +11,7 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @Builder
+@AllArgsConstructor
 public class CommentDto {
 
     private Long id;
@@ -18,4 +21,10 @@ public class CommentDto {
     private String authorName;
 
     private LocalDateTime created;
+
+    @JsonIgnore
+    private Long itemId;
+
+    @JsonIgnore
+    private Long authorVersion;
 }
@@ -1,5 +1,7 @@
 package ru.practicum.shareit.item.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
@@ -10,6 +12,7 @@ import javax.validation.constraints.NotNull;
 @Getter
 @Setter
 @Builder
+@AllArgsConstructor
 public class ItemDto {
 
     private Long id;
@@ -24,4 +27,7 @@ public class ItemDto {
     private Boolean available;
 
     private Long requestId;
+
+    @JsonIgnore
+    private Long version;
 }
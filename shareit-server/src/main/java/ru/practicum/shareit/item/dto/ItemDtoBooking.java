@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -27,4 +28,19 @@ public class ItemDtoBooking {
     private BookingDtoForItem nextBooking;
 
     private List<CommentDto> comments;
+
+    @JsonIgnore
+    private Long version;
+
+    /**
+     * Builds a list row from the item columns alone: the last and next bookings are kept on the item row.
+     */
+    public ItemDtoBooking(Long id, String name, String description, Boolean available,
+                          Long lastBookingId, Long lastBookerId, Long nextBookingId, Long nextBookerId,
+                          Long version) {
+        this(id, name, description, available,
+                lastBookingId != null ? new BookingDtoForItem(lastBookingId, lastBookerId) : null,
+                nextBookingId != null ? new BookingDtoForItem(nextBookingId, nextBookerId) : null,
+                null, version);
+    }
 }
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.Value;
+
+/**
+ * Immutable copy of an item row as the item detail read needs it, safe to share between requests
+ * through the item cache.
+ */
+@Value
+public class ItemSnapshot {
+
+    Long id;
+
+    String name;
+
+    String description;
+
+    Boolean available;
+
+    Long ownerId;
+
+    Long lastBookingId;
+
+    Long lastBookerId;
+
+    Long nextBookingId;
+
+    Long nextBookerId;
+
+    Long version;
+}
@@ -16,6 +16,7 @@ public class CommentMapper {
                 .id(comment.getId())
                 .text(comment.getText())
                 .authorName(comment.getAuthor().getName())
+                .authorVersion(comment.getAuthor().getVersion())
                 .created(comment.getCreated())
                 .build();
     }
@@ -2,10 +2,11 @@ package ru.practicum.shareit.item.mapper;
 
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
-import ru.practicum.shareit.booking.mapper.BookingMapper;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.dto.BookingDtoForItem;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDtoBooking;
+import ru.practicum.shareit.item.dto.ItemSnapshot;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
@@ -22,6 +23,7 @@ public class ItemMapper {
                 .description(item.getDescription())
                 .available(item.getAvailable())
                 .requestId(item.getRequest() != null ? item.getRequest().getId() : null)
+                .version(item.getVersion())
                 .build();
     }
 
@@ -41,18 +43,34 @@ public class ItemMapper {
                 .collect(Collectors.toList());
     }
 
-    public static ItemDtoBooking mapToItemDtoBooking(Booking bookingPast, Booking bookingFuture, Item item) {
+    public static ItemDtoBooking mapToItemDtoBooking(Item item, boolean withBookings) {
         return ItemDtoBooking.builder()
                 .id(item.getId())
                 .name(item.getName())
                 .description(item.getDescription())
                 .available(item.getAvailable())
-                .lastBooking(bookingPast != null ?
-                        BookingMapper.mapToBookingDtoForItem(bookingPast) : null)
-                .nextBooking(bookingFuture != null ?
-                        BookingMapper.mapToBookingDtoForItem(bookingFuture) : null)
+                .lastBooking(withBookings && item.getLastBookingId() != null ?
+                        new BookingDtoForItem(item.getLastBookingId(), item.getLastBookerId()) : null)
+                .nextBooking(withBookings && item.getNextBookingId() != null ?
+                        new BookingDtoForItem(item.getNextBookingId(), item.getNextBookerId()) : null)
                 .comments(item.getComments())
+                .version(item.getVersion())
                 .build();
     }
 
+    public static ItemDtoBooking mapToItemDtoBooking(ItemSnapshot item, boolean withBookings,
+                                                     List<CommentDto> comments) {
+        return ItemDtoBooking.builder()
+                .id(item.getId())
+                .name(item.getName())
+                .description(item.getDescription())
+                .available(item.getAvailable())
+                .lastBooking(withBookings && item.getLastBookingId() != null ?
+                        new BookingDtoForItem(item.getLastBookingId(), item.getLastBookerId()) : null)
+                .nextBooking(withBookings && item.getNextBookingId() != null ?
+                        new BookingDtoForItem(item.getNextBookingId(), item.getNextBookerId()) : null)
+                .comments(comments)
+                .version(item.getVersion())
+                .build();
+    }
 }
@@ -17,10 +17,13 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
+import javax.persistence.Version;
 import javax.persistence.Transient;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Getter
@@ -33,7 +36,8 @@ import java.util.List;
 public class Item {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -56,6 +60,24 @@ public class Item {
     @JoinColumn(name = "owner_id")
     private User owner;
 
+    @Column(name = "last_booking_id")
+    private Long lastBookingId;
+
+    @Column(name = "last_booker_id")
+    private Long lastBookerId;
+
+    @Column(name = "next_booking_id")
+    private Long nextBookingId;
+
+    @Column(name = "next_booker_id")
+    private Long nextBookerId;
+
+    @Column(name = "next_booking_start")
+    private LocalDateTime nextBookingStart;
+
+    @Version
+    private Long version;
+
     @Transient
     private List<CommentDto> comments;
 }
@@ -1,13 +1,21 @@
 package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
     List<Comment> findByItemId(long itemId);
+
+    @Query("select new ru.practicum.shareit.item.dto.CommentDto(c.id, c.text, a.name, c.created, c.item.id, " +
+            "a.version) " +
+            "from Comment c join c.author a where c.item.id in ?1")
+    List<CommentDto> findDtosByItemIdIn(Collection<Long> itemIds);
 }
@@ -2,21 +2,71 @@ package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemDtoBooking;
+import ru.practicum.shareit.item.dto.ItemSnapshot;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
+    @Query("select new ru.practicum.shareit.item.dto.ItemSnapshot(i.id, i.name, i.description, i.available, " +
+            "i.owner.id, i.lastBookingId, i.lastBookerId, i.nextBookingId, i.nextBookerId, i.version) " +
+            "from Item i where i.id = ?1")
+    Optional<ItemSnapshot> findSnapshotById(Long id);
+
     List<Item> findByOwnerIdOrderByIdAsc(Long ownerId, Pageable pageable);
 
+    @Query("select new ru.practicum.shareit.item.dto.ItemDtoBooking(i.id, i.name, i.description, i.available, " +
+            "i.lastBookingId, i.lastBookerId, i.nextBookingId, i.nextBookerId, i.version) " +
+            "from Item i where i.owner.id = ?1 order by i.id")
+    List<ItemDtoBooking> findDtosByOwnerId(Long ownerId, Pageable pageable);
+
+    @Query("select new ru.practicum.shareit.item.dto.ItemDtoBooking(i.id, i.name, i.description, i.available, " +
+            "i.lastBookingId, i.lastBookerId, i.nextBookingId, i.nextBookerId, i.version) " +
+            "from Item i where i.owner.id = ?1 and i.id > ?2 order by i.id")
+    List<ItemDtoBooking> findDtosByOwnerIdAfter(Long ownerId, Long id, Pageable pageable);
+
     @Query(value = "select * from items i " +
-            "where upper(i.name) like upper(concat('%', ?1, '%')) " +
-            "or upper(i.description) like upper (concat('%', ?1, '%')) " +
-            "and i.is_available = true", nativeQuery = true)
+            "where (upper(i.name) like upper(concat('%', ?1, '%')) " +
+            "or upper(i.description) like upper(concat('%', ?1, '%'))) " +
+            "and i.is_available = true " +
+            "order by i.id", nativeQuery = true)
     List<Item> search(String query, Pageable page);
 
+    @Query(value = "select * from items i " +
+            "where to_tsvector('simple', i.name || ' ' || i.description) @@ to_tsquery('simple', ?1) " +
+            "and i.is_available = true " +
+            "order by ts_rank(to_tsvector('simple', i.name || ' ' || i.description), " +
+            "to_tsquery('simple', ?1)) desc, i.id", nativeQuery = true)
+    List<Item> searchFullText(String tsQuery, Pageable page);
+
     List<Item> findByRequestId(Long requestId);
+
+    @Query("select new ru.practicum.shareit.item.dto.ItemDto(i.id, i.name, i.description, i.available, " +
+            "i.request.id, i.version) from Item i where i.request.id in ?1")
+    List<ItemDto> findDtosByRequestIdIn(Collection<Long> requestIds);
+
+    List<Item> findByNextBookingStartBefore(LocalDateTime now);
+
+    /**
+     * Items with approved bookings but neither pointer set: every approved booking has started or not,
+     * so once the pointers are filled an item is not returned again.
+     */
+    @Query("select i from Item i where i.id > ?1 and i.lastBookingId is null and i.nextBookingId is null " +
+            "and exists (select b.id from Booking b where b.item = i and b.status = ?2) order by i.id")
+    List<Item> findWithoutBookingPointers(Long afterId, BookingStatus status, Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id = ?1")
+    Item lockById(Long id);
 }
 
@@ -0,0 +1,133 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import javax.annotation.PostConstruct;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-process inverted index used with H2 and in tests.
+ * Query tokens are matched as prefixes of indexed tokens; a hit in the name scores higher
+ * than a hit in the description. Only available items are kept in the index.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "memory", matchIfMissing = true)
+public class InMemoryItemSearchEngine implements ItemSearchEngine {
+
+    private static final int NAME_WEIGHT = 2;
+
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private final ItemRepository itemRepository;
+
+    private final NavigableMap<String, Map<Long, Integer>> postings = new ConcurrentSkipListMap<>();
+
+    private final Map<Long, Set<String>> itemTokens = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void reindex() {
+        postings.clear();
+        itemTokens.clear();
+        itemRepository.findAll().forEach(this::index);
+        log.info("item search index built for {} items", itemTokens.size());
+    }
+
+    @Override
+    public List<Item> search(String query, Pageable pageable) {
+        List<String> terms = SearchQueries.tokenize(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Integer> scores = null;
+        for (String term : terms) {
+            Map<Long, Integer> termScores = matchPrefix(term);
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((itemId, score) -> score + termScores.get(itemId));
+            }
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        Map<Long, Integer> ranking = scores;
+        List<Long> rankedIds = ranking.keySet().stream()
+                .sorted(Comparator.comparing((Long itemId) -> ranking.get(itemId)).reversed()
+                        .thenComparing(Comparator.naturalOrder()))
+                .collect(Collectors.toList());
+        Map<Long, Item> items = itemRepository.findAllById(rankedIds).stream()
+                .filter(Item::getAvailable)
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        return rankedIds.stream()
+                .filter(items::containsKey)
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .map(items::get)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public synchronized void index(Item item) {
+        remove(item.getId());
+        if (!Boolean.TRUE.equals(item.getAvailable())) {
+            return;
+        }
+
+        Map<String, Integer> weights = new HashMap<>();
+        SearchQueries.tokenize(item.getDescription())
+                .forEach(token -> weights.put(token, DESCRIPTION_WEIGHT));
+        SearchQueries.tokenize(item.getName())
+                .forEach(token -> weights.merge(token, NAME_WEIGHT, Math::max));
+
+        weights.forEach((token, weight) -> postings
+                .computeIfAbsent(token, key -> new ConcurrentHashMap<>())
+                .put(item.getId(), weight));
+        itemTokens.put(item.getId(), new HashSet<>(weights.keySet()));
+    }
+
+    private void remove(Long itemId) {
+        Set<String> tokens = itemTokens.remove(itemId);
+        if (tokens == null) {
+            return;
+        }
+        for (String token : tokens) {
+            Map<Long, Integer> posting = postings.get(token);
+            if (posting != null) {
+                posting.remove(itemId);
+                if (posting.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+    }
+
+    private Map<Long, Integer> matchPrefix(String term) {
+        Map<Long, Integer> result = new HashMap<>();
+        for (Map<Long, Integer> posting : postings.subMap(term, true, term + Character.MAX_VALUE, true).values()) {
+            posting.forEach((itemId, weight) -> result.merge(itemId, weight, Math::max));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,152 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import javax.annotation.PostConstruct;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * In-process trigram posting lists with the same substring semantics as {@link ItemRepository#search}.
+ * Candidates are the intersection of the query trigram postings and are confirmed with a plain
+ * {@code contains} check; queries shorter than a trigram fall back to a scan of the indexed texts.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "trigram-memory")
+public class InMemoryTrigramItemSearchEngine implements ItemSearchEngine {
+
+    private static final int GRAM = 3;
+
+    private final ItemRepository itemRepository;
+
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+
+    private final Map<Long, IndexedText> texts = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void reindex() {
+        postings.clear();
+        texts.clear();
+        itemRepository.findAll().forEach(this::index);
+        log.info("item trigram index built for {} items", texts.size());
+    }
+
+    @Override
+    public List<Item> search(String query, Pageable pageable) {
+        String needle = normalize(query);
+        if (needle.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> ids = candidates(needle).stream()
+                .filter(itemId -> {
+                    IndexedText text = texts.get(itemId);
+                    return text != null && text.contains(needle);
+                })
+                .sorted()
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return itemRepository.findAllById(ids).stream()
+                .filter(Item::getAvailable)
+                .sorted(Comparator.comparing(Item::getId))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public synchronized void index(Item item) {
+        remove(item.getId());
+        if (!Boolean.TRUE.equals(item.getAvailable())) {
+            return;
+        }
+
+        IndexedText text = new IndexedText(normalize(item.getName()), normalize(item.getDescription()));
+        Set<String> grams = new HashSet<>();
+        grams.addAll(trigrams(text.name));
+        grams.addAll(trigrams(text.description));
+        grams.forEach(gram -> postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet())
+                .add(item.getId()));
+        texts.put(item.getId(), text);
+    }
+
+    private void remove(Long itemId) {
+        IndexedText text = texts.remove(itemId);
+        if (text == null) {
+            return;
+        }
+        Set<String> grams = new HashSet<>(trigrams(text.name));
+        grams.addAll(trigrams(text.description));
+        for (String gram : grams) {
+            Set<Long> posting = postings.get(gram);
+            if (posting != null) {
+                posting.remove(itemId);
+                if (posting.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    private Collection<Long> candidates(String needle) {
+        Set<String> grams = trigrams(needle);
+        if (grams.isEmpty()) {
+            return texts.keySet();
+        }
+
+        List<Set<Long>> lists = grams.stream()
+                .map(gram -> postings.getOrDefault(gram, Set.of()))
+                .sorted(Comparator.comparingInt(Set::size))
+                .collect(Collectors.toList());
+        Set<Long> result = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i));
+        }
+        return result;
+    }
+
+    private static Set<String> trigrams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class IndexedText {
+
+        private final String name;
+
+        private final String description;
+
+        private IndexedText(String name, String description) {
+            this.name = name;
+            this.description = description;
+        }
+
+        private boolean contains(String needle) {
+            return name.contains(needle) || description.contains(needle);
+        }
+    }
+}
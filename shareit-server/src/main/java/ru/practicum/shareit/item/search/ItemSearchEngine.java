@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+public interface ItemSearchEngine {
+
+    List<Item> search(String query, Pageable pageable);
+
+    void index(Item item);
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+/**
+ * Full-text search over the {@code items_search_idx} GIN index.
+ * The index is maintained by Postgres itself, so {@link #index(Item)} has nothing to do.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "postgres")
+public class PostgresItemSearchEngine implements ItemSearchEngine {
+
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<Item> search(String query, Pageable pageable) {
+        List<String> tokens = SearchQueries.tokenize(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        return itemRepository.searchFullText(SearchQueries.toPrefixTsQuery(tokens), pageable);
+    }
+
+    @Override
+    public void index(Item item) {
+    }
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class SearchQueries {
+
+    public static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    public static String toPrefixTsQuery(List<String> tokens) {
+        return tokens.stream()
+                .map(token -> token + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+/**
+ * Substring search served by the {@code pg_trgm} GIN indexes from {@code schema-postgresql.sql}.
+ * The indexes cover {@code upper(name)} and {@code upper(description)}, the same expressions
+ * {@link ItemRepository#search} filters on.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "trigram")
+public class TrigramItemSearchEngine implements ItemSearchEngine {
+
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<Item> search(String query, Pageable pageable) {
+        return itemRepository.search(query, pageable);
+    }
+
+    @Override
+    public void index(Item item) {
+    }
+}
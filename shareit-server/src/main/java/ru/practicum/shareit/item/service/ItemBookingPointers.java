@@ -0,0 +1,118 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import javax.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the materialized last/next approved booking of an item in the {@code items} row.
+ * Booking status changes refresh the pointers in the same transaction, the scheduled roll
+ * picks up items whose next booking has started since. On startup items that have approved
+ * bookings but no pointers yet, e.g. rows written before the columns existed, are backfilled.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemBookingPointers {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final ItemRepository itemRepository;
+
+    private final BookingRepository bookingRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ItemSnapshots itemSnapshots;
+
+    @Value("${shareit.items.booking-pointers.backfill:true}")
+    private boolean backfillOnStartup;
+
+    @Transactional
+    public void refresh(Collection<Item> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        List<Long> itemIds = items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Booking> bookingsLast = groupByItemId(bookingRepository
+                .findLastByItemIdIn(itemIds, BookingStatus.APPROVED, now));
+        Map<Long, Booking> bookingsNext = groupByItemId(bookingRepository
+                .findNextByItemIdIn(itemIds, BookingStatus.APPROVED, now));
+
+        for (Item item : items) {
+            Booking last = bookingsLast.get(item.getId());
+            Booking next = bookingsNext.get(item.getId());
+            item.setLastBookingId(last != null ? last.getId() : null);
+            item.setLastBookerId(last != null ? last.getBooker().getId() : null);
+            item.setNextBookingId(next != null ? next.getId() : null);
+            item.setNextBookerId(next != null ? next.getBooker().getId() : null);
+            item.setNextBookingStart(next != null ? next.getStart() : null);
+        }
+        itemSnapshots.evict(itemIds);
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${shareit.items.booking-pointers.roll-interval-ms:60000}")
+    public void roll() {
+        List<Item> items = itemRepository.findByNextBookingStartBefore(LocalDateTime.now());
+        refresh(items);
+        if (!items.isEmpty()) {
+            log.info("booking pointers rolled for {} items", items.size());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (backfillOnStartup) {
+            backfill();
+        }
+    }
+
+    public void backfill() {
+        long afterId = 0L;
+        long total = 0L;
+        List<Item> items;
+        do {
+            long fromId = afterId;
+            items = transactionTemplate.execute(status -> {
+                List<Item> page = itemRepository.findWithoutBookingPointers(fromId, BookingStatus.APPROVED,
+                        PageRequest.of(0, BATCH_SIZE));
+                refresh(page);
+                return page;
+            });
+            if (!items.isEmpty()) {
+                afterId = items.get(items.size() - 1).getId();
+                total += items.size();
+            }
+        } while (items.size() == BATCH_SIZE);
+        log.info("booking pointers backfilled for {} items", total);
+    }
+
+    private static Map<Long, Booking> groupByItemId(List<Booking> bookings) {
+        return bookings.stream()
+                .collect(Collectors.toMap(booking -> booking.getItem().getId(), Function.identity(),
+                        (first, second) -> first));
+    }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.batch.BatchResult;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoBooking;
@@ -11,12 +12,16 @@ import java.util.List;
 public interface ItemService {
     ItemDto createItem(ItemDto itemDto, Long userId);
 
+    List<BatchResult<ItemDto>> createItems(List<ItemDto> itemDtos, Long userId);
+
     ItemDto updateItem(ItemDto itemDto, Long userId);
 
     ItemDtoBooking getItemById(Long itemId, Long userId);
 
     List<ItemDtoBooking> getItemsByUserId(Long userId, int from, int size);
 
+    List<ItemDtoBooking> getItemsByUserIdAfter(Long userId, String after, int size);
+
     List<ItemDto> getItemsByQuery(String query, int from, int size);
 
     CommentDto createComment(Comment comment, Long itemId, Long bookerId);
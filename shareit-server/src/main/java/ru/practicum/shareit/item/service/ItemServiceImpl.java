@@ -2,33 +2,49 @@ package ru.practicum.shareit.item.service;
 
 import lombok.Builder;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.batch.BatchResult;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.config.CacheConfig;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoBooking;
+import ru.practicum.shareit.item.dto.ItemSnapshot;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.pagination.Cursors;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.singleflight.SingleFlight;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
 import javax.transaction.Transactional;
 import javax.validation.ConstraintViolation;
-import javax.validation.Validation;
+import javax.validation.Validator;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Builder
@@ -48,24 +64,79 @@ public class ItemServiceImpl implements ItemService {
 
     private final ItemRequestRepository itemRequestRepository;
 
+    private final ItemSearchEngine itemSearchEngine;
+
+    private final Validator validator;
+
+    private final SingleFlight<ItemView, ItemDtoBooking> itemReads;
+
+    private final ItemSnapshots itemSnapshots;
+
     @Override
     @Transactional
     public ItemDto createItem(ItemDto itemDto, Long userId) {
-        User user = userService.getUserById(userId);
+        User user = userService.getUserReference(userId);
         Item item = ItemMapper.mapToItem(itemDto, user);
 
         ItemRequest itemRequest = getItemRequestById(itemDto.getRequestId());
         item.setRequest(itemRequest);
 
         validateItemConstraints(item);
+        Item savedItem = itemRepository.save(item);
+        itemSearchEngine.index(savedItem);
         log.info("item successfully added");
-        return itemMapper.mapToItemDto(itemRepository.save(item));
+        return itemMapper.mapToItemDto(savedItem);
+    }
+
+    @Override
+    @Transactional
+    public List<BatchResult<ItemDto>> createItems(List<ItemDto> itemDtos, Long userId) {
+        BatchResult.checkSize(itemDtos);
+        User user = userService.getUserReference(userId);
+        Map<Long, ItemRequest> itemRequests = itemRequestRepository.findAllById(itemDtos.stream()
+                        .map(ItemDto::getRequestId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+
+        List<Integer> indexes = new ArrayList<>(itemDtos.size());
+        List<Item> items = new ArrayList<>(itemDtos.size());
+        List<BatchResult<ItemDto>> results = new ArrayList<>(Collections.nCopies(itemDtos.size(), null));
+        for (int i = 0; i < itemDtos.size(); i++) {
+            ItemDto itemDto = itemDtos.get(i);
+            Item item = ItemMapper.mapToItem(itemDto, user);
+            item.setRequest(itemRequests.get(itemDto.getRequestId()));
+
+            if (itemDto.getRequestId() != null && item.getRequest() == null) {
+                results.set(i, BatchResult.failed(i, HttpStatus.NOT_FOUND,
+                        "Request with Id = " + itemDto.getRequestId() + " does not exist"));
+            } else if (!validator.validate(item).isEmpty()) {
+                results.set(i, BatchResult.failed(i, HttpStatus.BAD_REQUEST, "Item data not validated"));
+            } else {
+                indexes.add(i);
+                items.add(item);
+            }
+        }
+
+        List<Item> savedItems = itemRepository.saveAll(items);
+        for (int i = 0; i < savedItems.size(); i++) {
+            int index = indexes.get(i);
+            itemSearchEngine.index(savedItems.get(i));
+            results.set(index, BatchResult.created(index, ItemMapper.mapToItemDto(savedItems.get(i))));
+        }
+        log.info("{} of {} items successfully added", savedItems.size(), itemDtos.size());
+        return results;
     }
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ITEMS, key = "#itemDto.id")
+    @Retryable(value = OptimisticLockingFailureException.class,
+            maxAttemptsExpression = "${shareit.retry.max-attempts:3}",
+            backoff = @Backoff(delayExpression = "${shareit.retry.delay-ms:10}", multiplier = 2, random = true))
     public ItemDto updateItem(ItemDto itemDto, Long userId) {
-        User user = userService.getUserById(userId);
+        userService.getUserById(userId);
 
         Item oldItem = getItemById(itemDto.getId());
 
@@ -84,30 +155,24 @@ public class ItemServiceImpl implements ItemService {
         if (itemDto.getAvailable() != null) {
             oldItem.setAvailable(itemDto.getAvailable());
         }
-        oldItem.setOwner(user);
 
         validateItemConstraints(oldItem);
+        Item savedItem = itemRepository.save(oldItem);
+        itemSearchEngine.index(savedItem);
         log.info("item successfully updated");
-        return itemMapper.mapToItemDto(itemRepository.save(oldItem));
+        return itemMapper.mapToItemDto(savedItem);
     }
 
     @Override
     @Transactional
     public ItemDtoBooking getItemById(Long itemId, Long userId) {
         userService.getUserById(userId);
-        Item item = getItemById(itemId);
-        List<Comment> comments = commentRepository.findByItemId(itemId);
-        List<CommentDto> commentsDto = CommentMapper.mapToCommentsDto(comments);
-        item.setComments(commentsDto);
-
-        Booking bookingLast = bookingRepository.findByItemIdLast(itemId);
-        Booking bookingNext = bookingRepository.findByItemIdNext(itemId);
-
-        if (userId.equals(item.getOwner().getId())) {
-            return ItemMapper.mapToItemDtoBooking(bookingLast, bookingNext, item);
-        } else {
-            return ItemMapper.mapToItemDtoBooking(null, null, item);
-        }
+        ItemSnapshot item = itemSnapshots.get(itemId);
+        boolean owner = userId.equals(item.getOwnerId());
+        return itemReads.execute(new ItemView(itemId, owner), () -> {
+            List<Comment> comments = commentRepository.findByItemId(itemId);
+            return ItemMapper.mapToItemDtoBooking(item, owner, CommentMapper.mapToCommentsDto(comments));
+        });
     }
 
 
@@ -115,24 +180,42 @@ public class ItemServiceImpl implements ItemService {
     @Transactional
     public List<ItemDtoBooking> getItemsByUserId(Long userId, int from, int size) {
         Pageable pageable = PageRequest.of(from / size, size);
-        List<Item> items = itemRepository.findByOwnerIdOrderByIdAsc(userId, pageable);
-        List<ItemDtoBooking> result = new ArrayList<>();
+        return withComments(itemRepository.findDtosByOwnerId(userId, pageable));
+    }
+
+    @Override
+    @Transactional
+    public List<ItemDtoBooking> getItemsByUserIdAfter(Long userId, String after, int size) {
+        Pageable pageable = PageRequest.of(0, size);
+        return withComments(itemRepository.findDtosByOwnerIdAfter(userId, Cursors.decodeItem(after), pageable));
+    }
 
-        for (Item item : items) {
-            result.add(getItemById(item.getId(), userId));
+    private List<ItemDtoBooking> withComments(List<ItemDtoBooking> items) {
+        if (items.isEmpty()) {
+            return items;
         }
-        return result;
+        List<Long> itemIds = items.stream()
+                .map(ItemDtoBooking::getId)
+                .collect(Collectors.toList());
+
+        Map<Long, List<CommentDto>> comments = commentRepository.findDtosByItemIdIn(itemIds)
+                .stream()
+                .collect(Collectors.groupingBy(CommentDto::getItemId));
+
+        for (ItemDtoBooking item : items) {
+            item.setComments(comments.getOrDefault(item.getId(), Collections.emptyList()));
+        }
+        return items;
     }
 
     @Override
     @Transactional
     public List<ItemDto> getItemsByQuery(String query, int from, int size) {
-        Pageable pageable = PageRequest.of(from / size, size);
-        List<Item> items = itemRepository.search(query, pageable);
-        if (query.isEmpty()) {
+        if (query.isBlank()) {
             return new ArrayList<>();
         }
-        return ItemMapper.mapToItemsDto(items);
+        Pageable pageable = PageRequest.of(from / size, size);
+        return ItemMapper.mapToItemsDto(itemSearchEngine.search(query, pageable));
     }
 
     @Override
@@ -143,7 +226,7 @@ public class ItemServiceImpl implements ItemService {
             throw new BadRequestException("The user has not used the item");
         }
         Item item = getItemById(itemId);
-        User user = userService.getUserById(bookerId);
+        User user = userService.getUserReference(bookerId);
         comment.setItem(item);
         comment.setAuthor(user);
         return CommentMapper.mapToCommentDtos(commentRepository.save(comment));
@@ -153,27 +236,23 @@ public class ItemServiceImpl implements ItemService {
     @Override
     @Transactional
     public Item getItemById(Long itemId) {
-        if (!itemRepository.existsById(itemId)) {
-            throw new NotFoundException("Item with Id = " + itemId + " does not exist");
-        }
-        return itemRepository.findById(itemId).get();
+        return itemRepository.findById(itemId)
+                .orElseThrow(() -> new NotFoundException("Item with Id = " + itemId + " does not exist"));
     }
 
     @Transactional
     public ItemRequest getItemRequestById(Long requestId) {
         if (requestId != null) {
-            return itemRequestRepository.findById(requestId)
+            itemRequestRepository.findSnapshotById(requestId)
                     .orElseThrow(() ->
                             new NotFoundException("Request with Id = " + requestId + " does not exist"));
+            return itemRequestRepository.getReferenceById(requestId);
         }
         return null;
     }
 
     private void validateItemConstraints(Item oldItem) {
-        Set<ConstraintViolation<Item>> violations = Validation
-                .buildDefaultValidatorFactory()
-                .getValidator()
-                .validate(oldItem);
+        Set<ConstraintViolation<Item>> violations = validator.validate(oldItem);
 
         if (!violations.isEmpty()) {
             throw new BadRequestException("Item data not validated");
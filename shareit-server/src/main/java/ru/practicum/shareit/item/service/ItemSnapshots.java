@@ -0,0 +1,40 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.config.CacheConfig;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemSnapshot;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.Collection;
+
+/**
+ * Cached item rows for the item detail read. A separate bean, so calls from {@link ItemServiceImpl}
+ * go through the cache proxy. Every write to an item row evicts its entry; evictions made inside a
+ * transaction are applied after commit.
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemSnapshots {
+
+    private final ItemRepository itemRepository;
+
+    private final CacheManager cacheManager;
+
+    @Cacheable(CacheConfig.ITEMS)
+    public ItemSnapshot get(Long itemId) {
+        return itemRepository.findSnapshotById(itemId)
+                .orElseThrow(() -> new NotFoundException("Item with Id = " + itemId + " does not exist"));
+    }
+
+    public void evict(Collection<Long> itemIds) {
+        Cache cache = cacheManager.getCache(CacheConfig.ITEMS);
+        if (cache != null) {
+            itemIds.forEach(cache::evict);
+        }
+    }
+}
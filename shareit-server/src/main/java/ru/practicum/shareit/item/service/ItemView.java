@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.Value;
+
+/**
+ * Single item read as seen by a class of viewers: only the owner gets booking pointers.
+ */
+@Value
+public class ItemView {
+
+    Long itemId;
+
+    boolean owner;
+}
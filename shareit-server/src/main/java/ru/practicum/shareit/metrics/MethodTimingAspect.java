@@ -0,0 +1,81 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every call of the service interfaces as {@code shareit.service} and every query of
+ * {@code BookingRepository} as {@code shareit.repository}, tagged with the interface, the method and the
+ * exception thrown ({@code none} on success). Runs outside transactions, retries and caches, so the time
+ * is what the caller waits. Percentiles and SLO buckets are set under {@code management.metrics.distribution}.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class MethodTimingAspect {
+
+    static final String SERVICE_TIMER = "shareit.service";
+
+    static final String REPOSITORY_TIMER = "shareit.repository";
+
+    private final MeterRegistry meterRegistry;
+
+    public MethodTimingAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(* ru.practicum.shareit.item.service.ItemService.*(..))")
+    public Object itemService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(SERVICE_TIMER, "ItemService", joinPoint);
+    }
+
+    @Around("execution(* ru.practicum.shareit.booking.service.BookingService.*(..))")
+    public Object bookingService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(SERVICE_TIMER, "BookingService", joinPoint);
+    }
+
+    @Around("execution(* ru.practicum.shareit.user.service.UserService.*(..))")
+    public Object userService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(SERVICE_TIMER, "UserService", joinPoint);
+    }
+
+    @Around("execution(* ru.practicum.shareit.request.service.ItemRequestService.*(..))")
+    public Object itemRequestService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(SERVICE_TIMER, "ItemRequestService", joinPoint);
+    }
+
+    /**
+     * Query methods declared on the repository and its criteria fragment; the fragment bean itself is
+     * left out, otherwise its queries would be timed twice.
+     */
+    @Around("(execution(* ru.practicum.shareit.booking.repository.BookingRepository.*(..)) " +
+            "|| execution(* ru.practicum.shareit.booking.repository.BookingRepositoryCustom.*(..))) " +
+            "&& !within(ru.practicum.shareit.booking.repository.BookingRepositoryCustomImpl)")
+    public Object bookingRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(REPOSITORY_TIMER, "BookingRepository", joinPoint);
+    }
+
+    private Object time(String name, String type, ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            Timer.builder(name)
+                    .tag("class", type)
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class BookingCursor {
+
+    private LocalDateTime start;
+
+    private Long id;
+}
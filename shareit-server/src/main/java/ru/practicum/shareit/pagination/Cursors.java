@@ -0,0 +1,77 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Opaque keyset cursors for the {@code after} request parameter.
+ * A booking cursor holds {@code (start, id)} of the last row of a page, an item cursor holds its {@code id}.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class Cursors {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final String SEPARATOR = "_";
+
+    public static String encodeBooking(LocalDateTime start, Long id) {
+        // timestamp columns keep microseconds, a finer cursor would compare greater than its own row
+        return encode(start.truncatedTo(ChronoUnit.MICROS) + SEPARATOR + id);
+    }
+
+    public static BookingCursor decodeBooking(String cursor) {
+        String value = decode(cursor);
+        int separator = value.lastIndexOf(SEPARATOR);
+        try {
+            return new BookingCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (DateTimeParseException | IndexOutOfBoundsException | NumberFormatException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+    }
+
+    public static String encodeItem(Long id) {
+        return encode(String.valueOf(id));
+    }
+
+    public static Long decodeItem(String cursor) {
+        try {
+            return Long.parseLong(decode(cursor));
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+    }
+
+    public static <T> ResponseEntity<List<T>> toResponse(List<T> page, int size, Function<T, String> cursor) {
+        if (size == 0 || page.size() < size) {
+            return ResponseEntity.ok(page);
+        }
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, cursor.apply(page.get(page.size() - 1)))
+                .body(page);
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -10,6 +10,8 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.etag.ETags;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestDtoIn;
 import ru.practicum.shareit.request.service.ItemRequestService;
@@ -48,8 +50,10 @@ public class ItemRequestController {
 
     @GetMapping("{requestId}")
     public ItemRequestDto getRequestById(@RequestHeader(USER_ID_HEADER) Long userId,
-                                         @PathVariable Long requestId) {
-        return itemRequestService.getRequestById(userId, requestId);
+                                         @PathVariable Long requestId,
+                                         WebRequest webRequest) {
+        ItemRequestDto request = itemRequestService.getRequestById(userId, requestId);
+        return webRequest.checkNotModified(ETags.request(request)) ? null : request;
     }
 
 }
@@ -22,4 +22,8 @@ public class ItemRequestDto {
     private LocalDateTime created;
 
     private List<ItemDto> items;
+
+    public ItemRequestDto(Long id, String description, LocalDateTime created) {
+        this(id, description, created, null);
+    }
 }
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.request.dto;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable copy of an item request row, safe to share between requests through the request cache.
+ */
+@Value
+public class ItemRequestSnapshot {
+
+    Long id;
+
+    String description;
+
+    LocalDateTime created;
+}
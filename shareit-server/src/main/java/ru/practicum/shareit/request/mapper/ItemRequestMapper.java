@@ -3,6 +3,7 @@ package ru.practicum.shareit.request.mapper;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestSnapshot;
 import ru.practicum.shareit.request.model.ItemRequest;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
@@ -17,4 +18,13 @@ public class ItemRequestMapper {
                 .items(itemRequest.getItems())
                 .build();
     }
+
+    public static ItemRequestDto mapToItemRequestDto(ItemRequestSnapshot itemRequest) {
+
+        return ItemRequestDto.builder()
+                .id(itemRequest.getId())
+                .description(itemRequest.getDescription())
+                .created(itemRequest.getCreated())
+                .build();
+    }
 }
\ No newline at end of file
@@ -1,16 +1,31 @@
 package ru.practicum.shareit.request.repository;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.config.CacheConfig;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestSnapshot;
 import ru.practicum.shareit.request.model.ItemRequest;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
 
-    List<ItemRequest> findByRequestorIdOrderByCreatedDesc(Long userId);
+    @Cacheable(cacheNames = CacheConfig.ITEM_REQUESTS, unless = "#result == null")
+    @Query("select new ru.practicum.shareit.request.dto.ItemRequestSnapshot(r.id, r.description, r.created) " +
+            "from ItemRequest r where r.id = ?1")
+    Optional<ItemRequestSnapshot> findSnapshotById(Long id);
 
-    List<ItemRequest> findByRequestorIdNotOrderByCreatedDesc(Long userId, Pageable pageable);
+    @Query("select new ru.practicum.shareit.request.dto.ItemRequestDto(r.id, r.description, r.created) " +
+            "from ItemRequest r where r.requestor.id = ?1 order by r.created desc")
+    List<ItemRequestDto> findDtosByRequestorId(Long userId);
+
+    @Query("select new ru.practicum.shareit.request.dto.ItemRequestDto(r.id, r.description, r.created) " +
+            "from ItemRequest r where r.requestor.id <> ?1 order by r.created desc")
+    List<ItemRequestDto> findDtosByRequestorIdNot(Long userId, Pageable pageable);
 }
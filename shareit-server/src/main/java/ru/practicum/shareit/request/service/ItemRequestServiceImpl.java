@@ -8,11 +8,11 @@ import org.springframework.stereotype.Service;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.ItemDto;
-import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestDtoIn;
+import ru.practicum.shareit.request.dto.ItemRequestSnapshot;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
@@ -22,6 +22,8 @@ import ru.practicum.shareit.user.service.UserService;
 import javax.transaction.Transactional;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Builder
@@ -42,7 +44,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     @Transactional
     public ItemRequestDto createItemRequest(ItemRequestDtoIn itemRequestDtoIn, Long userId) {
-        User user = userService.getUserById(userId);
+        User user = userService.getUserReference(userId);
         ItemRequest itemRequest = new ItemRequest();
         itemRequest.setDescription(itemRequestDtoIn.getDescription());
         itemRequest.setRequestor(user);
@@ -53,8 +55,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Transactional
     public List<ItemRequestDto> getAllByRequestorId(Long userId) {
         userService.getUserById(userId);
-        List<ItemRequest> requests = itemRequestRepository.findByRequestorIdOrderByCreatedDesc(userId);
-        return getRequests(requests);
+        return withItems(itemRequestRepository.findDtosByRequestorId(userId));
     }
 
     @Override
@@ -62,8 +63,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     public List<ItemRequestDto> getAllByNotRequestorId(Long userId,int from, int size) {
         Pageable pageable = PageRequest.of(from / size, size);
         userService.getUserById(userId);
-        List<ItemRequest> requests = itemRequestRepository.findByRequestorIdNotOrderByCreatedDesc(userId, pageable);
-        return getRequests(requests);
+        return withItems(itemRequestRepository.findDtosByRequestorIdNot(userId, pageable));
     }
 
     @Override
@@ -71,30 +71,29 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     public ItemRequestDto getRequestById(Long userId, Long requestId) {
         userService.getUserById(userId);
 
-        if (!itemRequestRepository.existsById(requestId)) {
-            throw new NotFoundException("Request with Id = " + requestId + " does not exist");
-        }
-
-        ItemRequest itemRequest = itemRequestRepository.findById(requestId)
+        ItemRequestSnapshot itemRequest = itemRequestRepository.findSnapshotById(requestId)
                 .orElseThrow(() ->
                         new NotFoundException("Request with Id = " + requestId + " does not exist"));
 
-        List<ItemDto> items = ItemMapper
-                .mapToItemsDto(itemRepository.findByRequestId(itemRequest.getId()));
-        itemRequest.setItems(items);
-
-        return ItemRequestMapper.mapToItemRequestDto(itemRequest);
+        ItemRequestDto itemRequestDto = ItemRequestMapper.mapToItemRequestDto(itemRequest);
+        itemRequestDto.setItems(itemRepository.findDtosByRequestIdIn(List.of(itemRequest.getId())));
+        return itemRequestDto;
     }
 
-    @Transactional
-    public List<ItemRequestDto> getRequests(List<ItemRequest> requests) {
-        List<ItemRequestDto> result = new ArrayList<>();
-        for (ItemRequest itemRequest : requests) {
-            List<ItemDto> items = ItemMapper
-                    .mapToItemsDto(itemRepository.findByRequestId(itemRequest.getId()));
-            itemRequest.setItems(items);
-            result.add(ItemRequestMapper.mapToItemRequestDto(itemRequest));
+    private List<ItemRequestDto> withItems(List<ItemRequestDto> requests) {
+        if (requests.isEmpty()) {
+            return requests;
+        }
+        List<Long> requestIds = requests.stream()
+                .map(ItemRequestDto::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<ItemDto>> items = itemRepository.findDtosByRequestIdIn(requestIds)
+                .stream()
+                .collect(Collectors.groupingBy(ItemDto::getRequestId));
+
+        for (ItemRequestDto itemRequest : requests) {
+            itemRequest.setItems(items.getOrDefault(itemRequest.getId(), new ArrayList<>()));
         }
-        return result;
+        return requests;
     }
 }
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.singleflight;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Lets concurrent calls with equal keys share one computation: the first caller runs it, callers
+ * arriving while it is in flight wait for its result or exception. Nothing is kept after the call
+ * completes, so a shared result is at most one computation older than the caller's own arrival.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> calls = new ConcurrentHashMap<>();
+
+    private final Counter executed;
+
+    private final Counter coalesced;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.executed = outcomeCounter(meterRegistry, name, "executed");
+        this.coalesced = outcomeCounter(meterRegistry, name, "coalesced");
+        Gauge.builder("shareit.singleflight.in.flight", calls, ConcurrentMap::size)
+                .description("Computations currently shared by concurrent callers")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    public V execute(K key, Supplier<V> computation) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = calls.putIfAbsent(key, call);
+        if (inFlight != null) {
+            coalesced.increment();
+            return join(inFlight);
+        }
+        executed.increment();
+        try {
+            V value = computation.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            calls.remove(key, call);
+        }
+    }
+
+    private static <V> V join(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String name, String outcome) {
+        return Counter.builder("shareit.singleflight.calls")
+                .description("Calls by whether they ran the computation or joined one in flight")
+                .tag("name", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,109 @@
+package ru.practicum.shareit.sqlbudget;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the SQL work of each controller call and records it per handler ({@code ItemController.getItemById})
+ * as {@code shareit.http.sql.statements}, {@code shareit.http.sql.rows} and {@code shareit.http.sql.time}.
+ * A call that runs more statements than its budget is logged and counted in
+ * {@code shareit.http.sql.budget.exceeded}; with {@code fail} set (as in tests) it throws instead, which
+ * is how an N+1 regression shows up before release.
+ * <p>
+ * Fail mode is for MockMvc tests only: {@code postHandle} runs after an {@code @ResponseBody} has been
+ * written and committed, so on a real server the client still gets the 200 and the exception only
+ * reaches the log. MockMvc rethrows it from {@code perform}, which fails the test.
+ */
+@Slf4j
+public class SqlBudgetInterceptor implements HandlerInterceptor {
+
+    private final MeterRegistry meterRegistry;
+
+    private final int defaultBudget;
+
+    private final Map<String, Integer> budgets;
+
+    private final boolean fail;
+
+    public SqlBudgetInterceptor(MeterRegistry meterRegistry, int defaultBudget, Map<String, Integer> budgets,
+                                boolean fail) {
+        this.meterRegistry = meterRegistry;
+        this.defaultBudget = defaultBudget;
+        this.budgets = Map.copyOf(budgets);
+        this.fail = fail;
+    }
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        if (handler instanceof HandlerMethod) {
+            SqlStats.begin();
+        }
+        return true;
+    }
+
+    @Override
+    public void postHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                           @NonNull Object handler, ModelAndView modelAndView) {
+        SqlStats stats = SqlStats.current();
+        if (stats == null || !(handler instanceof HandlerMethod)) {
+            return;
+        }
+        String name = name((HandlerMethod) handler);
+        int budget = budgets.getOrDefault(name, defaultBudget);
+        if (budget >= 0 && stats.getStatements() > budget) {
+            Counter.builder("shareit.http.sql.budget.exceeded")
+                    .description("Controller calls that ran more SQL statements than their budget")
+                    .tag("handler", name)
+                    .register(meterRegistry)
+                    .increment();
+            String message = name + " ran " + stats.getStatements() + " SQL statements, budget " + budget;
+            if (fail) {
+                throw new IllegalStateException(message);
+            }
+            log.warn(message);
+        }
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                @NonNull Object handler, Exception ex) {
+        SqlStats stats = SqlStats.end();
+        if (stats == null || !(handler instanceof HandlerMethod)) {
+            return;
+        }
+        String name = name((HandlerMethod) handler);
+        DistributionSummary.builder("shareit.http.sql.statements")
+                .description("SQL statements per controller call")
+                .tag("handler", name)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        DistributionSummary.builder("shareit.http.sql.rows")
+                .description("Rows read or written per controller call")
+                .baseUnit("rows")
+                .tag("handler", name)
+                .register(meterRegistry)
+                .record(stats.getRows());
+        Timer.builder("shareit.http.sql.time")
+                .description("Time spent executing SQL per controller call")
+                .tag("handler", name)
+                .register(meterRegistry)
+                .record(stats.getNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private static String name(HandlerMethod handler) {
+        return handler.getBeanType().getSimpleName() + "." + handler.getMethod().getName();
+    }
+}
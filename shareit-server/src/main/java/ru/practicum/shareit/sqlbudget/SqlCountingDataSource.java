@@ -0,0 +1,98 @@
+package ru.practicum.shareit.sqlbudget;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.lang.NonNull;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Reports every statement executed through its connections to the thread's {@link SqlStats}, if any:
+ * the time of each {@code execute*} call, the rows its result sets return and the update counts.
+ * Threads without stats pay one thread-local lookup per call.
+ */
+public class SqlCountingDataSource extends DelegatingDataSource {
+
+    public SqlCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    @NonNull
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, super.getConnection(), SqlCountingDataSource::connection);
+    }
+
+    @Override
+    @NonNull
+    public Connection getConnection(@NonNull String username, @NonNull String password) throws SQLException {
+        return proxy(Connection.class, super.getConnection(username, password), SqlCountingDataSource::connection);
+    }
+
+    private static Object connection(Object connection, Method method, Object[] args) throws Throwable {
+        Object result = invoke(connection, method, args);
+        if (result instanceof Statement) {
+            Class<?> type = method.getReturnType();
+            return proxy(type, result, SqlCountingDataSource::statement);
+        }
+        return result;
+    }
+
+    private static Object statement(Object statement, Method method, Object[] args) throws Throwable {
+        SqlStats stats = SqlStats.current();
+        if (stats == null || !method.getName().startsWith("execute")) {
+            Object result = invoke(statement, method, args);
+            return method.getName().equals("getResultSet") ? resultSet(result, stats) : result;
+        }
+        long start = System.nanoTime();
+        Object result = invoke(statement, method, args);
+        stats.executed(System.nanoTime() - start);
+        if (result instanceof Integer || result instanceof Long) {
+            stats.rows(Math.max(((Number) result).longValue(), 0));
+        } else if (result instanceof int[]) {
+            for (int count : (int[]) result) {
+                stats.rows(Math.max(count, 0));
+            }
+        }
+        return resultSet(result, stats);
+    }
+
+    private static Object resultSet(Object result, SqlStats stats) {
+        if (stats == null || !(result instanceof ResultSet)) {
+            return result;
+        }
+        return proxy(ResultSet.class, result, (resultSet, method, args) -> {
+            Object next = invoke(resultSet, method, args);
+            if (method.getName().equals("next") && Boolean.TRUE.equals(next)) {
+                stats.rows(1);
+            }
+            return next;
+        });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static <T> T proxy(Class<T> type, Object target, Handler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> handler.invoke(target, method, args);
+        return type.cast(Proxy.newProxyInstance(SqlCountingDataSource.class.getClassLoader(),
+                new Class<?>[]{type}, invocationHandler));
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object invoke(Object target, Method method, Object[] args) throws Throwable;
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.sqlbudget;
+
+/**
+ * JDBC work done on the current thread since {@link #begin()}: statements executed, rows read or
+ * written and the time spent in {@code execute*} calls. Fed by {@link SqlCountingDataSource}.
+ */
+public class SqlStats {
+
+    private static final ThreadLocal<SqlStats> CURRENT = new ThreadLocal<>();
+
+    private long statements;
+
+    private long rows;
+
+    private long nanos;
+
+    public static SqlStats begin() {
+        SqlStats stats = new SqlStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static SqlStats current() {
+        return CURRENT.get();
+    }
+
+    public static SqlStats end() {
+        SqlStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    void executed(long nanos) {
+        this.statements++;
+        this.nanos += nanos;
+    }
+
+    void rows(long rows) {
+        this.rows += rows;
+    }
+}
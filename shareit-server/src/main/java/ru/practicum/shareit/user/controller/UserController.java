@@ -10,7 +10,11 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.batch.BatchResult;
+import ru.practicum.shareit.etag.ETags;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserSnapshot;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
@@ -29,14 +33,20 @@ public class UserController {
         return userService.createUser(userDto);
     }
 
+    @PostMapping("/batch")
+    public List<BatchResult<User>> createUsers(@RequestBody List<UserDto> userDtos) {
+        return userService.createUsers(userDtos);
+    }
+
     @PatchMapping("/{userId}")
     public User updateUser(@RequestBody UserDto userDto, @PathVariable Long userId) {
         return userService.updateUser(userDto, userId);
     }
 
     @GetMapping("/{userId}")
-    public User getUserById(@PathVariable Long userId) {
-        return userService.getUserById(userId);
+    public UserSnapshot getUserById(@PathVariable Long userId, WebRequest webRequest) {
+        UserSnapshot user = userService.getUserById(userId);
+        return webRequest.checkNotModified(ETags.user(user)) ? null : user;
     }
 
     @GetMapping
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.user.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Value;
+
+/**
+ * Immutable copy of a user row, safe to share between requests through the user cache. Serialises
+ * like {@link ru.practicum.shareit.user.model.User}.
+ */
+@Value
+public class UserSnapshot {
+
+    Long id;
+
+    String name;
+
+    String email;
+
+    @JsonIgnore
+    Long version;
+}
@@ -3,6 +3,7 @@ package ru.practicum.shareit.user.mapper;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserSnapshot;
 import ru.practicum.shareit.user.model.User;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
@@ -14,4 +15,8 @@ public class UserMapper {
          user.setName(userDto.getName());
          return user;
     }
+
+    public static UserSnapshot mapToUserSnapshot(User user) {
+        return new UserSnapshot(user.getId(), user.getName(), user.getEmail(), user.getVersion());
+    }
 }
@@ -1,10 +1,26 @@
 package ru.practicum.shareit.user.repository;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.config.CacheConfig;
+import ru.practicum.shareit.user.dto.UserSnapshot;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    @Cacheable(cacheNames = CacheConfig.USERS, unless = "#result == null")
+    @Query("select new ru.practicum.shareit.user.dto.UserSnapshot(u.id, u.name, u.email, u.version) " +
+            "from User u where u.id = ?1")
+    Optional<UserSnapshot> findSnapshotById(Long id);
+
+    @Query("select u.email from User u where u.email in :emails")
+    Set<String> findEmailsIn(@Param("emails") Collection<String> emails);
 }
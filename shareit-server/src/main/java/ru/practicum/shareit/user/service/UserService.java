@@ -1,6 +1,8 @@
 package ru.practicum.shareit.user.service;
 
+import ru.practicum.shareit.batch.BatchResult;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserSnapshot;
 import ru.practicum.shareit.user.model.User;
 
 import java.util.List;
@@ -8,9 +10,17 @@ import java.util.List;
 public interface UserService {
     User createUser(UserDto userDto);
 
+    List<BatchResult<User>> createUsers(List<UserDto> userDtos);
+
     User updateUser(UserDto userDto, Long userId);
 
-    User getUserById(Long userId);
+    UserSnapshot getUserById(Long userId);
+
+    /**
+     * Reference to an existing user for use as a foreign key in the caller's persistence context;
+     * loaded lazily on first access to anything but its id.
+     */
+    User getUserReference(Long userId);
 
     List<User> getUsers();
 
@@ -2,19 +2,29 @@ package ru.practicum.shareit.user.service;
 
 import lombok.Builder;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.batch.BatchResult;
+import ru.practicum.shareit.config.CacheConfig;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserSnapshot;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import javax.transaction.Transactional;
 import javax.validation.ConstraintViolation;
-import javax.validation.Validation;
+import javax.validation.Validator;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Builder
@@ -26,6 +36,8 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
 
+    private final Validator validator;
+
     @Override
     @Transactional
     public User createUser(UserDto userDto) {
@@ -37,8 +49,40 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @Transactional
+    public List<BatchResult<User>> createUsers(List<UserDto> userDtos) {
+        BatchResult.checkSize(userDtos);
+        Set<String> takenEmails = userRepository.findEmailsIn(userDtos.stream()
+                .map(UserDto::getEmail)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+        Set<String> batchEmails = new HashSet<>();
+
+        List<BatchResult<User>> results = new ArrayList<>(userDtos.size());
+        List<User> users = new ArrayList<>(userDtos.size());
+        for (int i = 0; i < userDtos.size(); i++) {
+            User user = userMapper.mapToUser(userDtos.get(i));
+            String violations = violationsMessage(user);
+            if (violations != null) {
+                results.add(BatchResult.failed(i, HttpStatus.BAD_REQUEST, violations));
+            } else if (takenEmails.contains(user.getEmail()) || !batchEmails.add(user.getEmail())) {
+                results.add(BatchResult.failed(i, HttpStatus.CONFLICT,
+                        "Email " + user.getEmail() + " is already used"));
+            } else {
+                users.add(user);
+                results.add(BatchResult.created(i, user));
+            }
+        }
+        userRepository.saveAll(users);
+        log.info("{} of {} users successfully added", users.size(), userDtos.size());
+        return results;
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#userId")
     public User updateUser(UserDto userDto, Long userId) {
-        User oldUser = getUserById(userId);
+        User oldUser = userRepository.findById(userId)
+                .orElseThrow(() -> new NotFoundException("User with id = " + userId + " doesn't exist"));
 
         if (userDto.getEmail() != null) {
             oldUser.setEmail(userDto.getEmail());
@@ -52,9 +96,16 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @Transactional
-    public User getUserById(Long userId) {
-        validateUser(userId);
-        return userRepository.findById(userId).get();
+    public UserSnapshot getUserById(Long userId) {
+        return userRepository.findSnapshotById(userId)
+                .orElseThrow(() -> new NotFoundException("User with id = " + userId + " doesn't exist"));
+    }
+
+    @Override
+    @Transactional
+    public User getUserReference(Long userId) {
+        getUserById(userId);
+        return userRepository.getReferenceById(userId);
     }
 
     @Override
@@ -66,29 +117,34 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(CacheConfig.USERS),
+            // the user's items are deleted by the foreign key cascade, their ids are not known here
+            @CacheEvict(cacheNames = CacheConfig.ITEMS, allEntries = true)
+    })
     public void removeUser(Long id) {
         log.info("user successfully deleted");
         userRepository.deleteById(id);
     }
 
-    private void validateUser(Long userId) {
-        if (!userRepository.existsById(userId)) {
-            throw new NotFoundException("User with id = " + userId + " doesn't exist");
+    private void validateUserConstraints(User oldUser) {
+        String violations = violationsMessage(oldUser);
+
+        if (violations != null) {
+            throw new BadRequestException(violations);
         }
     }
 
-    private static void validateUserConstraints(User oldUser) {
-        Set<ConstraintViolation<User>> violations = Validation
-                .buildDefaultValidatorFactory()
-                .getValidator()
-                .validate(oldUser);
+    private String violationsMessage(User user) {
+        Set<ConstraintViolation<User>> violations = validator.validate(user);
 
-        if (!violations.isEmpty()) {
-            StringBuilder message = new StringBuilder("User data not validated: ");
-            for (ConstraintViolation<?> violation : violations) {
-                message.append(violation.getMessage()).append(";");
-            }
-            throw new BadRequestException(message.toString());
+        if (violations.isEmpty()) {
+            return null;
+        }
+        StringBuilder message = new StringBuilder("User data not validated: ");
+        for (ConstraintViolation<?> violation : violations) {
+            message.append(violation.getMessage()).append(";");
         }
+        return message.toString();
     }
 }
@@ -0,0 +1,11 @@
+-- rows inserted through IDENTITY before the switch to pooled sequences: move each sequence past them.
+-- A sequence only moves forward, blocks already handed out to running instances stay valid
+SELECT setval('users_seq', m) FROM (SELECT MAX(id) m FROM users) t WHERE m >= (SELECT last_value FROM users_seq);
+
+SELECT setval('items_seq', m) FROM (SELECT MAX(id) m FROM items) t WHERE m >= (SELECT last_value FROM items_seq);
+
+SELECT setval('requests_seq', m) FROM (SELECT MAX(id) m FROM requests) t WHERE m >= (SELECT last_value FROM requests_seq);
+
+SELECT setval('bookings_seq', m) FROM (SELECT MAX(id) m FROM bookings) t WHERE m >= (SELECT last_value FROM bookings_seq);
+
+SELECT setval('comments_seq', m) FROM (SELECT MAX(id) m FROM comments) t WHERE m >= (SELECT last_value FROM comments_seq);
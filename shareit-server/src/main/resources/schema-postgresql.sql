@@ -0,0 +1,10 @@
+-- item search indexes only: ItemSearchBenchmark runs every statement against a schema with just items
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS items_search_idx ON items
+    USING gin (to_tsvector('simple', name || ' ' || description));
+
+CREATE INDEX IF NOT EXISTS items_name_trgm_idx ON items USING gin (upper(name) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS items_description_trgm_idx ON items USING gin (upper(description) gin_trgm_ops);
@@ -35,4 +35,54 @@ create TABLE IF NOT EXISTS comments (
     item_id BIGINT NOT NULL references items (id),
     author_id BIGINT NOT NULL references users (id),
     created timestamp
-);
\ No newline at end of file
+);
+
+CREATE INDEX IF NOT EXISTS items_owner_id_idx ON items (owner_id, id);
+
+CREATE INDEX IF NOT EXISTS items_request_id_idx ON items (request_id);
+
+DROP INDEX IF EXISTS bookings_item_id_start_idx;
+
+CREATE INDEX IF NOT EXISTS bookings_item_id_period_idx ON bookings (item_id, start_date, end_date);
+
+DROP INDEX IF EXISTS bookings_booker_id_start_idx;
+
+DROP INDEX IF EXISTS bookings_booker_id_status_idx;
+
+-- booker lists of every state share one order (start_date desc, id desc), the index returns it presorted
+CREATE INDEX IF NOT EXISTS bookings_booker_id_start_id_idx ON bookings (booker_id, start_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS bookings_booker_id_status_start_id_idx
+    ON bookings (booker_id, status, start_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS comments_item_id_idx ON comments (item_id);
+
+ALTER TABLE items ADD COLUMN IF NOT EXISTS last_booking_id BIGINT;
+
+ALTER TABLE items ADD COLUMN IF NOT EXISTS last_booker_id BIGINT;
+
+ALTER TABLE items ADD COLUMN IF NOT EXISTS next_booking_id BIGINT;
+
+ALTER TABLE items ADD COLUMN IF NOT EXISTS next_booker_id BIGINT;
+
+ALTER TABLE items ADD COLUMN IF NOT EXISTS next_booking_start timestamp;
+
+CREATE INDEX IF NOT EXISTS items_next_booking_start_idx ON items (next_booking_start);
+
+ALTER TABLE items ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+
+-- ids are allocated by Hibernate from pooled sequences in blocks of 50, so inserts can be batched;
+-- rows inserted by hand must take their id from the sequence as well, the identity defaults above would collide
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS requests_seq START WITH 1 INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
@@ -0,0 +1,157 @@
+package ru.practicum.shareit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert throughput of bookings and comments, in rows per second, with the statements Hibernate issues
+ * for each id strategy: an {@code IDENTITY} insert per row that reads back the generated key, versus ids
+ * taken from a pooled sequence (one {@code nextval} per 50 rows) and inserts sent in JDBC batches of 50.
+ * Needs a running database, e.g. the one from docker-compose:
+ * {@code mvn -pl shareit-server -P benchmark verify -DskipTests -Dbenchmark=InsertBenchmark}
+ * or, without one and without network round trips,
+ * {@code -Dbenchmark.jdbc.url="jdbc:h2:mem:insert;MODE=PostgreSQL"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@OperationsPerInvocation(InsertBenchmark.ROWS)
+public class InsertBenchmark {
+
+    static final int ROWS = 1000;
+
+    private static final int BATCH_SIZE = 50;
+
+    @Param({"bookings", "comments"})
+    private String table;
+
+    private Connection connection;
+
+    private String insert;
+
+    private String insertWithId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(System.getProperty("benchmark.jdbc.url"),
+                System.getProperty("benchmark.jdbc.username", "shareit"),
+                System.getProperty("benchmark.jdbc.password", "shareit"));
+        String columns;
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists insert_benchmark");
+            statement.execute("drop sequence if exists insert_benchmark_seq");
+            if (table.equals("bookings")) {
+                statement.execute("create table insert_benchmark (" +
+                        "id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL PRIMARY KEY, " +
+                        "start_date timestamp, end_date timestamp, item_id BIGINT NOT NULL, " +
+                        "booker_id BIGINT NOT NULL, status varchar(100), version BIGINT)");
+                columns = "start_date, end_date, item_id, booker_id, status, version";
+            } else {
+                statement.execute("create table insert_benchmark (" +
+                        "id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL PRIMARY KEY, " +
+                        "text VARCHAR(255) NOT NULL, item_id BIGINT NOT NULL, author_id BIGINT NOT NULL, " +
+                        "created timestamp)");
+                columns = "text, item_id, author_id, created";
+            }
+            statement.execute("create sequence insert_benchmark_seq start with 1 increment by " + BATCH_SIZE);
+        }
+        connection.setAutoCommit(false);
+        String parameters = columns.replaceAll("[a-z_]+", "?");
+        insert = "insert into insert_benchmark (" + columns + ") values (" + parameters + ")";
+        insertWithId = "insert into insert_benchmark (id, " + columns + ") values (?, " + parameters + ")";
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists insert_benchmark");
+            statement.execute("drop sequence if exists insert_benchmark_seq");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public long identity() throws SQLException {
+        long lastId = 0;
+        try (PreparedStatement statement = connection.prepareStatement(insert, Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < ROWS; i++) {
+                bindRow(statement, 1, i);
+                statement.executeUpdate();
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    keys.next();
+                    lastId = keys.getLong(1);
+                }
+            }
+        }
+        connection.commit();
+        return lastId;
+    }
+
+    @Benchmark
+    public long pooledSequenceBatch() throws SQLException {
+        long id = 0;
+        try (PreparedStatement nextval = connection.prepareStatement("select nextval('insert_benchmark_seq')");
+             PreparedStatement statement = connection.prepareStatement(insertWithId)) {
+            for (int i = 0; i < ROWS; i++) {
+                if (i % BATCH_SIZE == 0) {
+                    try (ResultSet hi = nextval.executeQuery()) {
+                        hi.next();
+                        id = hi.getLong(1) - BATCH_SIZE;
+                    }
+                }
+                statement.setLong(1, ++id);
+                bindRow(statement, 2, i);
+                statement.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    statement.executeBatch();
+                }
+            }
+            statement.executeBatch();
+        }
+        connection.commit();
+        return id;
+    }
+
+    private void bindRow(PreparedStatement statement, int first, int row) throws SQLException {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        if (table.equals("bookings")) {
+            statement.setTimestamp(first, now);
+            statement.setTimestamp(first + 1, Timestamp.valueOf(now.toLocalDateTime().plusDays(1)));
+            statement.setLong(first + 2, row % 100 + 1);
+            statement.setLong(first + 3, row % 1000 + 1);
+            statement.setString(first + 4, "WAITING");
+            statement.setLong(first + 5, 0);
+        } else {
+            statement.setString(first, "comment " + row);
+            statement.setLong(first + 1, row % 100 + 1);
+            statement.setLong(first + 2, row % 1000 + 1);
+            statement.setTimestamp(first + 3, now);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package ru.practicum.shareit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.enums.BookingState;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.mapper.ItemRequestMapper;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * One 1,000-row page of the booker booking list, the owner item list and the other users' request list,
+ * read as entities and mapped to DTOs (as before) versus selected straight into the DTOs, each in its own
+ * transaction. The data lives in its own Postgres schema, which is dropped afterwards. Run with
+ * {@code -prof gc} and compare {@code gc.alloc.rate.norm}, the bytes allocated per page:
+ * {@code mvn -pl shareit-server -P benchmark verify -DskipTests -Dbenchmark="ProjectionBenchmark -prof gc"}
+ * against the docker-compose database, or add {@code -Dbenchmark.jdbc.url="jdbc:h2:mem:projection;MODE=PostgreSQL"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ProjectionBenchmark {
+
+    private static final String SCHEMA = "projection_benchmark";
+
+    private static final int ROWS = 1000;
+
+    @Param({"bookings", "items", "requests"})
+    private String list;
+
+    private ConfigurableApplicationContext context;
+
+    private TransactionTemplate transactionTemplate;
+
+    private EntityManager entityManager;
+
+    private BookingRepository bookingRepository;
+
+    private ItemRepository itemRepository;
+
+    private ItemRequestRepository itemRequestRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        String url = System.getProperty("benchmark.jdbc.url");
+        boolean postgres = url.startsWith("jdbc:postgresql:");
+        if (postgres) {
+            try (Connection connection = connect(url); Statement statement = connection.createStatement()) {
+                statement.execute("drop schema if exists " + SCHEMA + " cascade");
+                statement.execute("create schema " + SCHEMA);
+            }
+        }
+        List<String> properties = new ArrayList<>(List.of(
+                "spring.datasource.url=" + url,
+                "spring.datasource.driverClassName=" + DriverManager.getDriver(url).getClass().getName(),
+                "spring.datasource.username=" + System.getProperty("benchmark.jdbc.username", "shareit"),
+                "spring.datasource.password=" + System.getProperty("benchmark.jdbc.password", "shareit"),
+                "spring.jpa.properties.hibernate.format_sql=false",
+                "shareit.search.engine=memory",
+                "shareit.bookings.overlap=memory",
+                "logging.level.root=warn"));
+        if (postgres) {
+            properties.add("spring.datasource.hikari.connection-init-sql=set search_path = " + SCHEMA + ", public");
+        } else {
+            properties.add("spring.sql.init.schema-locations=classpath:schema.sql");
+        }
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .properties(properties.toArray(new String[0]))
+                .run();
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(
+                context.getBean(EntityManagerFactory.class));
+        bookingRepository = context.getBean(BookingRepository.class);
+        itemRepository = context.getBean(ItemRepository.class);
+        itemRequestRepository = context.getBean(ItemRequestRepository.class);
+        populate(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (System.getProperty("benchmark.jdbc.url").startsWith("jdbc:postgresql:")) {
+            context.getBean(JdbcTemplate.class).execute("drop schema if exists " + SCHEMA + " cascade");
+        }
+        context.close();
+    }
+
+    @Benchmark
+    public List<?> entities() {
+        return transactionTemplate.execute(status -> {
+            switch (list) {
+                case "bookings":
+                    return entityManager.createQuery("select b from Booking b where b.booker.id = ?1 " +
+                                    "order by b.start desc, b.id desc", Booking.class)
+                            .setParameter(1, 1L)
+                            .setMaxResults(ROWS)
+                            .getResultStream()
+                            .map(BookingMapper::mapToBookingDtoOut)
+                            .collect(Collectors.toList());
+                case "items":
+                    return itemRepository.findByOwnerIdOrderByIdAsc(2L, PageRequest.of(0, ROWS))
+                            .stream()
+                            .map(item -> ItemMapper.mapToItemDtoBooking(item, true))
+                            .collect(Collectors.toList());
+                default:
+                    return entityManager.createQuery("select r from ItemRequest r where r.requestor.id <> ?1 " +
+                                    "order by r.created desc", ItemRequest.class)
+                            .setParameter(1, 1L)
+                            .setMaxResults(ROWS)
+                            .getResultStream()
+                            .map(ItemRequestMapper::mapToItemRequestDto)
+                            .collect(Collectors.toList());
+            }
+        });
+    }
+
+    @Benchmark
+    public List<?> projections() {
+        return transactionTemplate.execute(status -> {
+            switch (list) {
+                case "bookings":
+                    return bookingRepository.findByBookerId(1L, BookingState.ALL, 0, ROWS);
+                case "items":
+                    return itemRepository.findDtosByOwnerId(2L, PageRequest.of(0, ROWS));
+                default:
+                    return itemRequestRepository.findDtosByRequestorIdNot(1L, PageRequest.of(0, ROWS));
+            }
+        });
+    }
+
+    private void populate(JdbcTemplate jdbcTemplate) {
+        // user 1 books every item of user 2 once; user 2 also posts the requests the items answer
+        jdbcTemplate.update("insert into users (id, name, email) values (1, 'booker', 'booker@mail.ru'), " +
+                "(2, 'owner', 'owner@mail.ru')");
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> requests = new ArrayList<>();
+        List<Object[]> items = new ArrayList<>();
+        List<Object[]> bookings = new ArrayList<>();
+        for (long id = 1; id <= ROWS; id++) {
+            requests.add(new Object[]{id, "request" + id, 2L, Timestamp.valueOf(now.minusMinutes(id))});
+            items.add(new Object[]{id, "item" + id, "description" + id, true, 2L, id, id, 1L});
+            bookings.add(new Object[]{id, Timestamp.valueOf(now.minusDays(id)),
+                    Timestamp.valueOf(now.minusDays(id).plusHours(1)), id, 1L, "APPROVED"});
+        }
+        jdbcTemplate.batchUpdate("insert into requests (id, description, requestor_id, created) " +
+                "values (?, ?, ?, ?)", requests);
+        jdbcTemplate.batchUpdate("insert into items (id, name, description, is_available, owner_id, request_id, " +
+                "last_booking_id, last_booker_id) values (?, ?, ?, ?, ?, ?, ?, ?)", items);
+        jdbcTemplate.batchUpdate("insert into bookings (id, start_date, end_date, item_id, booker_id, status) " +
+                "values (?, ?, ?, ?, ?, ?)", bookings);
+    }
+
+    private static Connection connect(String url) throws SQLException {
+        return DriverManager.getConnection(url,
+                System.getProperty("benchmark.jdbc.username", "shareit"),
+                System.getProperty("benchmark.jdbc.password", "shareit"));
+    }
+}
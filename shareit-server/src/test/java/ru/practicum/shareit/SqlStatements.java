@@ -0,0 +1,37 @@
+package ru.practicum.shareit;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import javax.persistence.EntityManager;
+
+/**
+ * Counts the SQL statements Hibernate prepares for a piece of work, for tests that pin down the
+ * number of queries of a service call.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class SqlStatements {
+
+    /**
+     * Runs {@code action} on a cleared persistence context and flushes after it, so pending writes are
+     * counted and entities loaded by the setup are not reused.
+     */
+    public static long count(EntityManager entityManager, Runnable action) {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            action.run();
+            entityManager.flush();
+            return statistics.getPrepareStatementCount();
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+}
@@ -17,6 +17,7 @@ import ru.practicum.shareit.booking.dto.BookingDtoIn;
 import ru.practicum.shareit.booking.dto.BookingDtoOut;
 import ru.practicum.shareit.booking.enums.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.pagination.Cursors;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -246,4 +247,32 @@ class BookingControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$[0].status",
                         is(String.valueOf(BookingStatus.WAITING))));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void getAllByBookerWithAfter() throws Exception {
+        bookingDtoOut.setId(2L);
+        when(bookingService.getAllByBookerAfter(Mockito.anyLong(), Mockito.anyString(),
+                Mockito.anyString(), Mockito.anyInt()))
+                .thenReturn(List.of(bookingDtoOut));
+
+        ResultActions resultActions = performBookingGet(BOOKING_API + "?size=1&after=cursor");
+
+        resultActions.andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id", is(2L), Long.class))
+                .andExpect(MockMvcResultMatchers.header().string(Cursors.NEXT_CURSOR_HEADER,
+                        Cursors.encodeBooking(bookingDtoOut.getStart(), 2L)));
+        Mockito.verify(bookingService).getAllByBookerAfter(1L, "ALL", "cursor", 1);
+    }
+
+    @Test
+    public void getAllByOwnerLastPageHasNoCursor() throws Exception {
+        when(bookingService.getAllByOwner(Mockito.anyLong(), Mockito.anyString(),
+                Mockito.anyInt(), Mockito.anyInt()))
+                .thenReturn(List.of(bookingDtoOut));
+
+        ResultActions resultActions = performBookingGet(OWNER_BOOKING_API + "?from=0&size=2");
+
+        resultActions.andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.header().doesNotExist(Cursors.NEXT_CURSOR_HEADER));
+    }
+}
@@ -0,0 +1,130 @@
+package ru.practicum.shareit.booking.overlap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import ru.practicum.shareit.booking.dto.BookingDtoIn;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Approves conflicting bookings of one item from parallel transactions, exactly one of them
+ * may win. Runs without a test transaction so every approval commits on its own.
+ */
+abstract class BookingOverlapConcurrencyTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<Long> userIds = new ArrayList<>();
+
+    private User owner;
+
+    private Long itemId;
+
+    @BeforeEach
+    public void setUp() {
+        owner = createUser("owner");
+        itemId = itemService.createItem(ItemDto.builder()
+                .name("overlap")
+                .description("overlap")
+                .available(true)
+                .build(), owner.getId()).getId();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        bookingRepository.deleteAll(bookingRepository.findByItemIdAndStatus(itemId, BookingStatus.APPROVED));
+        bookingRepository.deleteAll(bookingRepository.findByItemIdAndStatus(itemId, BookingStatus.WAITING));
+        itemRepository.deleteById(itemId);
+        userIds.forEach(userRepository::deleteById);
+    }
+
+    @Test
+    public void parallelApprovalsShouldLeaveOneApprovedBooking() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Long> bookingIds = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            BookingDtoIn bookingDtoIn = new BookingDtoIn();
+            bookingDtoIn.setItemId(itemId);
+            bookingDtoIn.setStart(start.plusHours(i));
+            bookingDtoIn.setEnd(start.plusHours(i + THREADS));
+            bookingIds.add(bookingService.createBooking(bookingDtoIn, createUser("booker" + i).getId()).getId());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch ready = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (Long bookingId : bookingIds) {
+            results.add(executor.submit(() -> {
+                ready.await();
+                try {
+                    bookingService.updateBooking(true, bookingId, owner.getId());
+                    return true;
+                } catch (ValidationException e) {
+                    return false;
+                }
+            }));
+        }
+        ready.countDown();
+        int approved = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get(30, TimeUnit.SECONDS)) {
+                approved++;
+            }
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(1, approved);
+        assertEquals(1, bookingRepository.findByItemIdAndStatus(itemId, BookingStatus.APPROVED).size());
+    }
+
+    private User createUser(String name) {
+        UserDto userDto = new UserDto();
+        userDto.setName(name);
+        userDto.setEmail(name + "@overlap.ru");
+        User user = userService.createUser(userDto);
+        userIds.add(user.getId());
+        return user;
+    }
+}
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.booking.overlap;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+@SpringBootTest
+@TestPropertySource(properties = {"db.name=shareitTest", "shareit.bookings.overlap=database"})
+class DatabaseBookingOverlapGuardTest extends BookingOverlapConcurrencyTest {
+}
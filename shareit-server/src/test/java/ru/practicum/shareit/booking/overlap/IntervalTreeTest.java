@@ -0,0 +1,107 @@
+package ru.practicum.shareit.booking.overlap;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntervalTreeTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Test
+    void overlapsShouldTreatPeriodsAsHalfOpen() {
+        IntervalTree tree = new IntervalTree();
+        tree.insert(at(10), at(20), 1L);
+
+        assertTrue(tree.overlaps(at(15), at(25)));
+        assertTrue(tree.overlaps(at(5), at(11)));
+        assertTrue(tree.overlaps(at(12), at(13)));
+        assertTrue(tree.overlaps(at(0), at(30)));
+        assertFalse(tree.overlaps(at(20), at(30)));
+        assertFalse(tree.overlaps(at(0), at(10)));
+    }
+
+    @Test
+    void overlapsShouldFindLongPeriodBehindShortOnes() {
+        IntervalTree tree = new IntervalTree();
+        tree.insert(at(0), at(100), 1L);
+        for (long i = 2; i < 50; i++) {
+            tree.insert(at(i * 2), at(i * 2 + 1), i);
+        }
+
+        assertTrue(tree.overlaps(at(99), at(100)));
+        assertFalse(tree.overlaps(at(100), at(110)));
+    }
+
+    @Test
+    void removeShouldFreePeriod() {
+        IntervalTree tree = new IntervalTree();
+        tree.insert(at(10), at(20), 1L);
+        tree.insert(at(30), at(40), 2L);
+
+        tree.remove(at(10), 1L);
+
+        assertEquals(1, tree.size());
+        assertFalse(tree.overlaps(at(10), at(20)));
+        assertTrue(tree.overlaps(at(35), at(36)));
+    }
+
+    @Test
+    void releaseShouldKeepPeriodWhileOtherHoldsRemain() {
+        IntervalTree tree = new IntervalTree();
+        tree.insert(at(10), at(20), 1L);
+        tree.insert(at(10), at(20), 1L);
+
+        tree.release(at(10), 1L);
+        assertTrue(tree.overlaps(at(10), at(20)));
+
+        tree.release(at(10), 1L);
+        assertFalse(tree.overlaps(at(10), at(20)));
+        assertEquals(0, tree.size());
+    }
+
+    @Test
+    void overlapsOtherShouldIgnoreOwnPeriod() {
+        IntervalTree tree = new IntervalTree();
+        tree.insert(at(10), at(20), 1L);
+
+        assertFalse(tree.overlapsOther(at(10), at(20), 1L));
+        assertTrue(tree.overlapsOther(at(10), at(20), 2L));
+    }
+
+    @Test
+    void overlapsShouldMatchLinearScan() {
+        Random random = new Random(42);
+        IntervalTree tree = new IntervalTree();
+        List<long[]> periods = new ArrayList<>();
+        for (long id = 0; id < 2000; id++) {
+            long start = random.nextInt(100_000);
+            long[] period = {start, start + 1 + random.nextInt(50), id};
+            periods.add(period);
+            tree.insert(at(period[0]), at(period[1]), id);
+            if (random.nextInt(4) == 0) {
+                long[] removed = periods.remove(random.nextInt(periods.size()));
+                tree.remove(at(removed[0]), removed[2]);
+            }
+        }
+        assertEquals(periods.size(), tree.size());
+
+        for (int i = 0; i < 2000; i++) {
+            long start = random.nextInt(100_000);
+            long end = start + 1 + random.nextInt(50);
+            boolean expected = periods.stream().anyMatch(period -> period[0] < end && period[1] > start);
+            assertEquals(expected, tree.overlaps(at(start), at(end)));
+        }
+    }
+
+    private static LocalDateTime at(long minutes) {
+        return BASE.plusMinutes(minutes);
+    }
+}
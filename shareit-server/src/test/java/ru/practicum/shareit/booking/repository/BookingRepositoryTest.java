@@ -0,0 +1,165 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.booking.enums.BookingState;
+import ru.practicum.shareit.pagination.BookingCursor;
+
+import javax.persistence.EntityManager;
+import java.lang.reflect.Method;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Explains every native booking query and the SQL that {@link BookingRepositoryCustomImpl} generates for
+ * the booker and owner lists of every state, offset and keyset pages, and fails on a sequential scan.
+ * The generated SQL is captured with a statement inspector and explained with its parameters bound.
+ * Plans are taken from the test database; on Postgres the tables need representative statistics.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "ru.practicum.shareit.booking.repository.BookingRepositoryTest$CapturingInspector")
+class BookingRepositoryTest {
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    public void nativeQueriesShouldUseIndexes() {
+        List<String> queries = new ArrayList<>();
+        for (Method method : BookingRepository.class.getDeclaredMethods()) {
+            Query query = method.getAnnotation(Query.class);
+            if (query != null && query.nativeQuery()) {
+                queries.add(bindParameters(query.value(), method));
+            }
+        }
+        assertFalse(queries.isEmpty());
+
+        for (String query : queries) {
+            String plan = explain(query);
+            assertFalse(isSequentialScan(plan), () -> "sequential scan in plan of '" + query + "':\n" + plan);
+        }
+    }
+
+    @Test
+    public void listQueriesShouldUseIndexes() {
+        BookingCursor after = new BookingCursor(LocalDateTime.now(), 1L);
+        for (BookingState state : BookingState.values()) {
+            assertUsesIndexes(() -> bookingRepository.findByBookerId(1L, state, 0, 10));
+            assertUsesIndexes(() -> bookingRepository.findByBookerIdAfter(1L, state, after, 10));
+            assertUsesIndexes(() -> bookingRepository.findByOwnerId(1L, state, 0, 10));
+            assertUsesIndexes(() -> bookingRepository.findByOwnerIdAfter(1L, state, after, 10));
+        }
+    }
+
+    private void assertUsesIndexes(Runnable call) {
+        CapturingInspector.STATEMENTS.clear();
+        call.run();
+        assertEquals(1, CapturingInspector.STATEMENTS.size());
+        String query = CapturingInspector.STATEMENTS.get(0);
+        String plan = explainPrepared(query);
+        assertFalse(isSequentialScan(plan), () -> "sequential scan in plan of '" + query + "':\n" + plan);
+    }
+
+    private static boolean isSequentialScan(String plan) {
+        String normalized = plan.toLowerCase(Locale.ROOT);
+        return normalized.contains("tablescan") || normalized.contains("seq scan");
+    }
+
+    private String explain(String query) {
+        List<?> rows = entityManager.createNativeQuery("explain " + query).getResultList();
+        assertTrue(rows.size() > 0);
+        StringBuilder plan = new StringBuilder();
+        rows.forEach(row -> plan.append(row).append('\n'));
+        return plan.toString();
+    }
+
+    /**
+     * Explains SQL with JDBC parameters, binding a sample value of each parameter's type.
+     */
+    private String explainPrepared(String query) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("explain " + query)) {
+                ParameterMetaData parameters = statement.getParameterMetaData();
+                for (int i = 1; i <= parameters.getParameterCount(); i++) {
+                    statement.setObject(i, sample(parameters.getParameterType(i)));
+                }
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rows = statement.executeQuery()) {
+                    while (rows.next()) {
+                        plan.append(rows.getString(1)).append('\n');
+                    }
+                }
+                assertTrue(plan.length() > 0);
+                return plan.toString();
+            }
+        });
+    }
+
+    private static Object sample(int sqlType) {
+        switch (sqlType) {
+            case Types.TIMESTAMP:
+                return Timestamp.valueOf(LocalDateTime.now());
+            case Types.VARCHAR:
+                return "WAITING";
+            case Types.INTEGER:
+                return 10;
+            default:
+                return 1L;
+        }
+    }
+
+    private static String bindParameters(String query, Method method) {
+        Class<?>[] types = method.getParameterTypes();
+        String result = query;
+        for (int i = types.length; i >= 1; i--) {
+            result = result.replace("?" + i, literal(types[i - 1]));
+        }
+        return result;
+    }
+
+    private static String literal(Class<?> type) {
+        if (type == String.class) {
+            return "'WAITING'";
+        }
+        if (type == LocalDateTime.class) {
+            return "current_timestamp";
+        }
+        if (Pageable.class.isAssignableFrom(type)) {
+            return "";
+        }
+        return "1";
+    }
+
+    /**
+     * Records the SQL Hibernate prepares, unchanged.
+     */
+    public static class CapturingInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
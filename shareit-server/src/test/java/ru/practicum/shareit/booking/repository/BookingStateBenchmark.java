@@ -0,0 +1,163 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.dto.BookingDtoOut;
+import ru.practicum.shareit.booking.enums.BookingState;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * First page of the booker and owner booking lists for every state, through
+ * {@link BookingRepositoryCustom} and the database of {@code benchmark.jdbc.url}. The data lives in its own
+ * Postgres schema, which is dropped afterwards. Needs a running database, e.g. the one from docker-compose:
+ * {@code mvn -pl shareit-server -P benchmark verify -DskipTests -Dbenchmark=BookingStateBenchmark}
+ * or, to compare plans without one, {@code -Dbenchmark.jdbc.url="jdbc:h2:mem:states;MODE=PostgreSQL"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BookingStateBenchmark {
+
+    private static final String SCHEMA = "booking_state_benchmark";
+
+    private static final int ITEMS = 100;
+
+    private static final int USERS = 100;
+
+    private static final int PAGE_SIZE = 10;
+
+    @Param({"100000"})
+    private int bookings;
+
+    @Param({"booker", "owner"})
+    private String side;
+
+    @Param({"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "APPROVED", "REJECTED", "CANCELED"})
+    private BookingState state;
+
+    private ConfigurableApplicationContext context;
+
+    private BookingRepository bookingRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        String url = System.getProperty("benchmark.jdbc.url");
+        boolean postgres = url.startsWith("jdbc:postgresql:");
+        if (postgres) {
+            try (Connection connection = connect(url); Statement statement = connection.createStatement()) {
+                statement.execute("drop schema if exists " + SCHEMA + " cascade");
+                statement.execute("create schema " + SCHEMA);
+            }
+        }
+        List<String> properties = new ArrayList<>(List.of(
+                "spring.datasource.url=" + url,
+                "spring.datasource.driverClassName=" + DriverManager.getDriver(url).getClass().getName(),
+                "spring.datasource.username=" + System.getProperty("benchmark.jdbc.username", "shareit"),
+                "spring.datasource.password=" + System.getProperty("benchmark.jdbc.password", "shareit"),
+                "spring.jpa.properties.hibernate.format_sql=false",
+                "shareit.search.engine=memory",
+                "shareit.bookings.overlap=memory",
+                "logging.level.root=warn"));
+        if (postgres) {
+            properties.add("spring.datasource.hikari.connection-init-sql=set search_path = " + SCHEMA + ", public");
+        } else {
+            properties.add("spring.sql.init.schema-locations=classpath:schema.sql");
+        }
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .properties(properties.toArray(new String[0]))
+                .run();
+        bookingRepository = context.getBean(BookingRepository.class);
+        populate(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        if (System.getProperty("benchmark.jdbc.url").startsWith("jdbc:postgresql:")) {
+            jdbcTemplate.execute("drop schema if exists " + SCHEMA + " cascade");
+        }
+        context.close();
+    }
+
+    @Benchmark
+    public List<BookingDtoOut> firstPage() {
+        // user 1 books and owns a share of everything, like a busy account
+        return side.equals("booker")
+                ? bookingRepository.findByBookerId(1L, state, 0, PAGE_SIZE)
+                : bookingRepository.findByOwnerId(1L, state, 0, PAGE_SIZE);
+    }
+
+    private void populate(JdbcTemplate jdbcTemplate) {
+        List<Object[]> users = new ArrayList<>();
+        for (long id = 1; id <= USERS; id++) {
+            users.add(new Object[]{id, "user" + id, "user" + id + "@mail.ru"});
+        }
+        jdbcTemplate.batchUpdate("insert into users (id, name, email) values (?, ?, ?)", users);
+
+        List<Object[]> items = new ArrayList<>();
+        for (long id = 1; id <= ITEMS; id++) {
+            items.add(new Object[]{id, "item" + id, "description" + id, true, id % USERS + 1});
+        }
+        jdbcTemplate.batchUpdate("insert into items (id, name, description, is_available, owner_id) " +
+                "values (?, ?, ?, ?, ?)", items);
+
+        LocalDateTime now = LocalDateTime.now();
+        BookingStatus[] statuses = BookingStatus.values();
+        List<Object[]> rows = new ArrayList<>();
+        for (long id = 1; id <= bookings; id++) {
+            // spread over two years around now, so past, current and future bookings all exist
+            LocalDateTime start = now.minusDays(365).plusMinutes(id * 2 * 365 * 24 * 60 / bookings);
+            rows.add(new Object[]{id, Timestamp.valueOf(start), Timestamp.valueOf(start.plusDays(1)),
+                    id % ITEMS + 1, id % USERS + 1, statuses[(int) (id % statuses.length)].name()});
+            if (rows.size() == 1000) {
+                insertBookings(jdbcTemplate, rows);
+            }
+        }
+        insertBookings(jdbcTemplate, rows);
+        if (System.getProperty("benchmark.jdbc.url").startsWith("jdbc:postgresql:")) {
+            jdbcTemplate.execute("analyze");
+        }
+    }
+
+    private static void insertBookings(JdbcTemplate jdbcTemplate, List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("insert into bookings (id, start_date, end_date, item_id, booker_id, status) " +
+                "values (?, ?, ?, ?, ?, ?)", rows);
+        rows.clear();
+    }
+
+    private static Connection connect(String url) throws SQLException {
+        return DriverManager.getConnection(url,
+                System.getProperty("benchmark.jdbc.username", "shareit"),
+                System.getProperty("benchmark.jdbc.password", "shareit"));
+    }
+}
@@ -0,0 +1,197 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.TestPropertySource;
+import ru.practicum.shareit.booking.dto.BookingDtoIn;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Hammers approvals of one item's bookings from parallel transactions. Runs without a test
+ * transaction so that every call commits and races for real.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {"db.name=shareitTest", "shareit.retry.max-attempts=50"})
+class BookingApprovalStressTest {
+
+    private static final int THREADS = 8;
+
+    private static final int BOOKINGS = 5;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+
+    private User booker;
+
+    private Long itemId;
+
+    private List<Long> bookingIds;
+
+    @BeforeEach
+    public void setUp() {
+        owner = createUser("stress-owner");
+        booker = createUser("stress-booker");
+        itemId = itemService.createItem(ItemDto.builder()
+                .name("stress")
+                .description("stress")
+                .available(true)
+                .build(), owner.getId()).getId();
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        bookingIds = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            BookingDtoIn bookingDtoIn = new BookingDtoIn();
+            bookingDtoIn.setItemId(itemId);
+            bookingDtoIn.setStart(start.plusHours(i * 2L));
+            bookingDtoIn.setEnd(start.plusHours(i * 2L + 1));
+            bookingIds.add(bookingService.createBooking(bookingDtoIn, booker.getId()).getId());
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        bookingRepository.deleteAllById(bookingIds);
+        itemRepository.deleteById(itemId);
+        userRepository.deleteById(booker.getId());
+        userRepository.deleteById(owner.getId());
+    }
+
+    @Test
+    public void parallelApprovalsShouldApproveEveryBookingOnce() throws Exception {
+        Map<Long, AtomicInteger> approvals = new ConcurrentHashMap<>();
+        runConcurrently(thread -> {
+            for (Long bookingId : bookingIds) {
+                try {
+                    bookingService.updateBooking(true, bookingId, owner.getId());
+                    approvals.computeIfAbsent(bookingId, id -> new AtomicInteger()).incrementAndGet();
+                } catch (BadRequestException e) {
+                    assertEquals("Repeated approval", e.getMessage());
+                }
+            }
+        });
+
+        for (Long bookingId : bookingIds) {
+            assertEquals(1, approvals.get(bookingId).get());
+            assertEquals(BookingStatus.APPROVED, bookingRepository.findById(bookingId).orElseThrow().getStatus());
+        }
+        assertPointersMatchBookings();
+    }
+
+    @Test
+    public void mixedApprovalsAndRejectionsShouldKeepItemConsistent() throws Exception {
+        AtomicInteger conflicts = new AtomicInteger();
+        runConcurrently(thread -> {
+            Random random = new Random(thread);
+            for (int i = 0; i < 20; i++) {
+                Long bookingId = bookingIds.get(random.nextInt(BOOKINGS));
+                try {
+                    bookingService.updateBooking(random.nextBoolean(), bookingId, owner.getId());
+                } catch (BadRequestException e) {
+                    assertEquals("Repeated approval", e.getMessage());
+                } catch (OptimisticLockingFailureException e) {
+                    conflicts.incrementAndGet();
+                }
+            }
+        });
+
+        assertEquals(0, conflicts.get());
+        assertPointersMatchBookings();
+    }
+
+    private void runConcurrently(ThreadTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch ready = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            int number = thread;
+            results.add(executor.submit(() -> {
+                ready.await();
+                task.run(number);
+                return null;
+            }));
+        }
+        ready.countDown();
+        try {
+            for (Future<?> result : results) {
+                result.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+        }
+    }
+
+    private void assertPointersMatchBookings() {
+        List<Booking> bookings = bookingRepository.findAllById(bookingIds);
+        Optional<Booking> next = bookings.stream()
+                .filter(booking -> booking.getStatus() == BookingStatus.APPROVED)
+                .min(Comparator.comparing(Booking::getStart));
+        Item item = itemRepository.findById(itemId).orElseThrow();
+
+        assertNull(item.getLastBookingId());
+        assertEquals(next.map(Booking::getId).orElse(null), item.getNextBookingId());
+        assertEquals(next.map(Booking::getStart).orElse(null), item.getNextBookingStart());
+    }
+
+    private User createUser(String name) {
+        UserDto userDto = new UserDto();
+        userDto.setName(name);
+        userDto.setEmail(name + "@mail.ru");
+        return userService.createUser(userDto);
+    }
+
+    private interface ThreadTask {
+        void run(int thread) throws Exception;
+    }
+}
@@ -5,12 +5,16 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.TestPropertySource;
+import ru.practicum.shareit.SqlStatements;
 import ru.practicum.shareit.booking.dto.BookingDtoIn;
 import ru.practicum.shareit.booking.dto.BookingDtoOut;
 import ru.practicum.shareit.booking.enums.BookingStatus;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.Cursors;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
@@ -19,10 +23,13 @@ import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 import javax.transaction.Transactional;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @Transactional
 @SpringBootTest
@@ -103,6 +110,35 @@ class BookingServiceImplIntegrationTest {
         assertEquals(bookingDtoOut.getStart(), bookingDtoOutReturn.getStart());
     }
 
+    @Test
+    public void updateBookingShouldRejectOverlappingApproval() {
+        Long firstId = bookingService.createBooking(bookingDtoInTest, userBooker.getId()).getId();
+        bookingDtoInTest.setEnd(bookingDtoInTest.getEnd().plusHours(1));
+        Long secondId = bookingService.createBooking(bookingDtoInTest, userBooker.getId()).getId();
+        bookingService.updateBooking(true, firstId, userOwner.getId());
+
+        ValidationException ex = assertThrows(ValidationException.class,
+                () -> bookingService.updateBooking(true, secondId, userOwner.getId()));
+        assertEquals("Booking overlaps an approved booking", ex.getMessage());
+
+        bookingService.updateBooking(false, firstId, userOwner.getId());
+        assertEquals(BookingStatus.APPROVED,
+                bookingService.updateBooking(true, secondId, userOwner.getId()).getStatus());
+    }
+
+    @Test
+    public void createBookingShouldRejectOverlapWithApproved() {
+        Long bookingId = bookingService.createBooking(bookingDtoInTest, userBooker.getId()).getId();
+        bookingService.updateBooking(true, bookingId, userOwner.getId());
+
+        assertThrows(ValidationException.class,
+                () -> bookingService.createBooking(bookingDtoInTest, userBooker.getId()));
+
+        bookingDtoInTest.setStart(bookingDtoInTest.getEnd());
+        bookingDtoInTest.setEnd(bookingDtoInTest.getEnd().plusHours(1));
+        assertNotNull(bookingService.createBooking(bookingDtoInTest, userBooker.getId()).getId());
+    }
+
     @Test
     public void getBookingById() {
         BookingDtoOut bookingDtoOut = bookingService.createBooking(bookingDtoInTest, userBooker.getId());
@@ -134,4 +170,124 @@ class BookingServiceImplIntegrationTest {
         assertEquals(bookingDtoOut.getId(), targetBookings.get(0).getId());
         assertEquals(bookingDtoOut.getBooker().getId(), targetBookings.get(0).getBooker().getId());
     }
+
+    @Test
+    public void getAllByStateShouldFilterByStatus() {
+        Long waitingId = bookingService.createBooking(bookingDtoInTest, userBooker.getId()).getId();
+        bookingDtoInTest.setStart(bookingDtoInTest.getEnd().plusHours(1));
+        bookingDtoInTest.setEnd(bookingDtoInTest.getEnd().plusHours(2));
+        Long approvedId = bookingService.createBooking(bookingDtoInTest, userBooker.getId()).getId();
+        bookingService.updateBooking(true, approvedId, userOwner.getId());
+
+        assertEquals(List.of(approvedId), ids(bookingService.getAllByBooker(userBooker.getId(), "APPROVED", 0, 10)));
+        assertEquals(List.of(approvedId), ids(bookingService.getAllByOwner(userOwner.getId(), "APPROVED", 0, 10)));
+        assertEquals(List.of(waitingId), ids(bookingService.getAllByOwner(userOwner.getId(), "WAITING", 0, 10)));
+        assertEquals(List.of(), ids(bookingService.getAllByBooker(userBooker.getId(), "CANCELED", 0, 10)));
+        assertEquals(List.of(approvedId, waitingId),
+                ids(bookingService.getAllByBooker(userBooker.getId(), "FUTURE", 0, 10)));
+    }
+
+    @Test
+    public void getBookingByIdShouldLoadDetailInOneQuery() {
+        Long bookingId = bookingService.createBooking(bookingDtoInTest, userBooker.getId()).getId();
+
+        // the caller lookup, then booking, item, owner and booker from one join
+        long statements = SqlStatements.count(entityManager, () -> {
+            BookingDtoOut booking = bookingService.getBookingById(bookingId, userOwner.getId());
+            assertEquals(userBooker.getName(), booking.getBooker().getName());
+        });
+        assertEquals(2, statements);
+    }
+
+    @Test
+    public void updateBookingShouldNotLoadOtherBookingsAssociations() {
+        List<Long> ids = createBookings(3);
+        bookingService.updateBooking(true, ids.get(2), userOwner.getId());
+
+        // detail, status update (flushed before the pointer queries), last and next booking of the item;
+        // the bookers of those bookings stay lazy
+        long statements = SqlStatements.count(entityManager,
+                () -> bookingService.updateBooking(true, ids.get(0), userOwner.getId()));
+        assertEquals(4, statements);
+    }
+
+    @Test
+    public void getAllShouldReadPageInOneQuery() {
+        createBookings(3);
+
+        // the caller lookup and the page, whatever the number of rows
+        assertEquals(2, SqlStatements.count(entityManager,
+                () -> bookingService.getAllByBooker(userBooker.getId(), "ALL", 0, 10)));
+        assertEquals(2, SqlStatements.count(entityManager,
+                () -> bookingService.getAllByOwner(userOwner.getId(), "ALL", 0, 10)));
+        assertEquals(2, SqlStatements.count(entityManager, () -> bookingService
+                .getAllByOwnerAfter(userOwner.getId(), "FUTURE", Cursors.encodeBooking(LocalDateTime.MAX, 0L), 10)));
+    }
+
+    @Test
+    public void getAllByBookerAfterShouldContinueFromCursor() {
+        List<Long> expectedIds = createBookings(5);
+
+        List<BookingDtoOut> firstPage = bookingService.getAllByBooker(userBooker.getId(), "ALL", 0, 2);
+        List<Long> pagedIds = new ArrayList<>(ids(firstPage));
+        String cursor = nextCursor(firstPage);
+        List<BookingDtoOut> page;
+        do {
+            page = bookingService.getAllByBookerAfter(userBooker.getId(), "ALL", cursor, 2);
+            pagedIds.addAll(ids(page));
+            cursor = page.isEmpty() ? cursor : nextCursor(page);
+        } while (page.size() == 2);
+
+        assertEquals(expectedIds, pagedIds);
+    }
+
+    @Test
+    public void getAllByOwnerAfterShouldContinueFromCursor() {
+        List<Long> expectedIds = createBookings(3);
+
+        List<BookingDtoOut> firstPage = bookingService.getAllByOwner(userOwner.getId(), "FUTURE", 0, 1);
+        List<BookingDtoOut> secondPage = bookingService.getAllByOwnerAfter(userOwner.getId(), "FUTURE",
+                nextCursor(firstPage), 5);
+
+        assertEquals(expectedIds.subList(0, 1), ids(firstPage));
+        assertEquals(expectedIds.subList(1, 3), ids(secondPage));
+    }
+
+    @Test
+    public void getAllByBookerAfterShouldReturnErrorInvalidCursor() {
+        BadRequestException ex = assertThrows(BadRequestException.class,
+                () -> bookingService.getAllByBookerAfter(userBooker.getId(), "ALL", "not-a-cursor", 2));
+        assertEquals("Invalid cursor: not-a-cursor", ex.getMessage());
+    }
+
+    @Test
+    public void getAllByOwnerAfterShouldReturnErrorUnknownState() {
+        String cursor = Cursors.encodeBooking(LocalDateTime.now(), 1L);
+
+        BadRequestException ex = assertThrows(BadRequestException.class,
+                () -> bookingService.getAllByOwnerAfter(userOwner.getId(), "UNKNOWN", cursor, 2));
+        assertEquals("Unknown state: UNKNOWN", ex.getMessage());
+    }
+
+    private List<Long> createBookings(int count) {
+        List<Long> ids = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < count; i++) {
+            bookingDtoInTest.setStart(start.plusHours(i));
+            bookingDtoInTest.setEnd(start.plusHours(i).plusMinutes(30));
+            ids.add(0, bookingService.createBooking(bookingDtoInTest, userBooker.getId()).getId());
+        }
+        return ids;
+    }
+
+    private static String nextCursor(List<BookingDtoOut> page) {
+        BookingDtoOut last = page.get(page.size() - 1);
+        return Cursors.encodeBooking(last.getStart(), last.getId());
+    }
+
+    private static List<Long> ids(List<BookingDtoOut> bookings) {
+        return bookings.stream()
+                .map(BookingDtoOut::getId)
+                .collect(Collectors.toList());
+    }
 }
@@ -10,16 +10,22 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.booking.dto.BookingDtoIn;
 import ru.practicum.shareit.booking.dto.BookingDtoOut;
+import ru.practicum.shareit.booking.enums.BookingState;
 import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.overlap.BookingOverlapGuard;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemBookingPointers;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
+import javax.validation.Validation;
+import javax.validation.Validator;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -32,6 +38,7 @@ import static org.hamcrest.Matchers.hasProperty;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.user.mapper.UserMapper.mapToUserSnapshot;
 
 @ExtendWith(MockitoExtension.class)
 class BookingServiceImplTest {
@@ -45,6 +52,14 @@ class BookingServiceImplTest {
     @Mock
     private BookingRepository bookingRepository;
 
+    @Mock
+    private ItemBookingPointers itemBookingPointers;
+
+    @Mock
+    private BookingOverlapGuard bookingOverlapGuard;
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -62,7 +77,8 @@ class BookingServiceImplTest {
 
     @BeforeEach
     public void setUp() {
-        bookingService = new BookingServiceImpl(itemService, userService, bookingRepository);
+        bookingService = new BookingServiceImpl(itemService, userService, bookingRepository,
+                itemBookingPointers, bookingOverlapGuard, validator);
 
         userOwner = new User();
         userOwner.setId(1L);
@@ -104,7 +120,7 @@ class BookingServiceImplTest {
 
     @Test
     void createBooking() {
-        when(userService.getUserById(Mockito.anyLong())).thenReturn(userBooker);
+        when(userService.getUserReference(Mockito.anyLong())).thenReturn(userBooker);
         when(itemService.getItemById(Mockito.anyLong())).thenReturn(itemTest);
         when(bookingRepository.save(Mockito.any(Booking.class))).thenReturn(bookingTest);
 
@@ -119,7 +135,7 @@ class BookingServiceImplTest {
 
     @Test
     void createBookingShouldReturnErrorBookedByOwner() {
-        when(userService.getUserById(Mockito.anyLong())).thenReturn(userOwner);
+        when(userService.getUserReference(Mockito.anyLong())).thenReturn(userOwner);
         when(itemService.getItemById(Mockito.anyLong())).thenReturn(itemTest);
 
         NotFoundException ex = assertThrows(NotFoundException.class,
@@ -130,7 +146,7 @@ class BookingServiceImplTest {
     @Test
     void createBookingShouldReturnErrorBookingNotAvailable() {
         itemTest.setAvailable(false);
-        when(userService.getUserById(Mockito.anyLong())).thenReturn(userBooker);
+        when(userService.getUserReference(Mockito.anyLong())).thenReturn(userBooker);
         when(itemService.getItemById(Mockito.anyLong())).thenReturn(itemTest);
 
         BadRequestException ex = assertThrows(BadRequestException.class,
@@ -143,7 +159,7 @@ class BookingServiceImplTest {
         bookingDtoInTest.setStart(LocalDateTime.now().plusMinutes(10));
         bookingDtoInTest.setEnd(LocalDateTime.now().plusMinutes(9));
 
-        when(userService.getUserById(Mockito.anyLong())).thenReturn(userBooker);
+        when(userService.getUserReference(Mockito.anyLong())).thenReturn(userBooker);
         when(itemService.getItemById(Mockito.anyLong())).thenReturn(itemTest);
 
         BadRequestException ex = assertThrows(BadRequestException.class,
@@ -156,7 +172,7 @@ class BookingServiceImplTest {
         bookingDtoInTest.setStart(LocalDateTime.now().plusMinutes(10));
         bookingDtoInTest.setEnd(bookingDtoInTest.getStart());
 
-        when(userService.getUserById(Mockito.anyLong())).thenReturn(userBooker);
+        when(userService.getUserReference(Mockito.anyLong())).thenReturn(userBooker);
         when(itemService.getItemById(Mockito.anyLong())).thenReturn(itemTest);
 
         BadRequestException ex = assertThrows(BadRequestException.class,
@@ -169,7 +185,7 @@ class BookingServiceImplTest {
         bookingDtoInTest.setStart(LocalDateTime.now().minusSeconds(3));
         bookingDtoInTest.setEnd(LocalDateTime.now().minusSeconds(2));
 
-        when(userService.getUserById(Mockito.anyLong())).thenReturn(userBooker);
+        when(userService.getUserReference(Mockito.anyLong())).thenReturn(userBooker);
         when(itemService.getItemById(Mockito.anyLong())).thenReturn(itemTest);
 
         BadRequestException ex = assertThrows(BadRequestException.class,
@@ -179,8 +195,7 @@ class BookingServiceImplTest {
 
     @Test
     void updateBookingShouldReturnApproved() {
-        when(bookingRepository.existsById(Mockito.anyLong())).thenReturn(true);
-        when(bookingRepository.findById(Mockito.anyLong()))
+        when(bookingRepository.findDetailById(Mockito.anyLong()))
                 .thenReturn(Optional.ofNullable(bookingTest));
         when(bookingRepository.save(Mockito.any(Booking.class))).thenReturn(bookingTest);
 
@@ -189,12 +204,13 @@ class BookingServiceImplTest {
         assertEquals(bookingTest.getStart(), bookingDtoOutReturn.getStart());
         assertEquals(bookingTest.getEnd(), bookingDtoOutReturn.getEnd());
         assertEquals(BookingStatus.APPROVED, bookingDtoOutReturn.getStatus());
+        Mockito.verify(itemBookingPointers).refresh(List.of(itemTest));
+        Mockito.verify(bookingOverlapGuard).reserve(bookingTest);
     }
 
     @Test
     void updateBookingShouldReturnRejected() {
-        when(bookingRepository.existsById(Mockito.anyLong())).thenReturn(true);
-        when(bookingRepository.findById(Mockito.anyLong()))
+        when(bookingRepository.findDetailById(Mockito.anyLong()))
                 .thenReturn(Optional.ofNullable(bookingTest));
         when(bookingRepository.save(Mockito.any(Booking.class))).thenReturn(bookingTest);
 
@@ -207,8 +223,7 @@ class BookingServiceImplTest {
 
     @Test
     void updateBookingShouldReturnErrorInvalidOwner() {
-        when(bookingRepository.existsById(Mockito.anyLong())).thenReturn(true);
-        when(bookingRepository.findById(Mockito.anyLong()))
+        when(bookingRepository.findDetailById(Mockito.anyLong()))
                 .thenReturn(Optional.ofNullable(bookingTest));
 
         NotFoundException ex = assertThrows(NotFoundException.class,
@@ -221,8 +236,7 @@ class BookingServiceImplTest {
     void updateBookingShouldReturnErrorRepeatedApproval() {
         bookingTest.setStatus(BookingStatus.APPROVED);
 
-        when(bookingRepository.existsById(Mockito.anyLong())).thenReturn(true);
-        when(bookingRepository.findById(Mockito.anyLong()))
+        when(bookingRepository.findDetailById(Mockito.anyLong()))
                 .thenReturn(Optional.ofNullable(bookingTest));
 
         BadRequestException ex = assertThrows(BadRequestException.class,
@@ -233,9 +247,8 @@ class BookingServiceImplTest {
 
     @Test
     void getBookingByBookerId() {
-        when(userService.getUserById(Mockito.anyLong())).thenReturn(userBooker);
-        when(bookingRepository.existsById(Mockito.anyLong())).thenReturn(true);
-        when(bookingRepository.findById(Mockito.anyLong()))
+        when(userService.getUserById(Mockito.anyLong())).thenReturn(mapToUserSnapshot(userBooker));
+        when(bookingRepository.findDetailById(Mockito.anyLong()))
                 .thenReturn(Optional.ofNullable(bookingTest));
 
         BookingDtoOut bookingDtoOutReturn = bookingService.getBookingById(bookingTest.getId(),
@@ -246,9 +259,8 @@ class BookingServiceImplTest {
 
     @Test
     void getBookingByOwnerId() {
-        when(userService.getUserById(Mockito.anyLong())).thenReturn(userOwner);
-        when(bookingRepository.existsById(Mockito.anyLong())).thenReturn(true);
-        when(bookingRepository.findById(Mockito.anyLong()))
+        when(userService.getUserById(Mockito.anyLong())).thenReturn(mapToUserSnapshot(userOwner));
+        when(bookingRepository.findDetailById(Mockito.anyLong()))
                 .thenReturn(Optional.ofNullable(bookingTest));
 
         BookingDtoOut bookingDtoOutReturn = bookingService.getBookingById(bookingTest.getId(),
@@ -259,9 +271,8 @@ class BookingServiceImplTest {
 
     @Test
     void getBookingByIdShouldReturnErrorInvalidUserId() {
-        when(userService.getUserById(Mockito.anyLong())).thenReturn(userTest);
-        when(bookingRepository.existsById(Mockito.anyLong())).thenReturn(true);
-        when(bookingRepository.findById(Mockito.anyLong()))
+        when(userService.getUserById(Mockito.anyLong())).thenReturn(mapToUserSnapshot(userTest));
+        when(bookingRepository.findDetailById(Mockito.anyLong()))
                 .thenReturn(Optional.ofNullable(bookingTest));
 
         NotFoundException ex = assertThrows(NotFoundException.class,
@@ -273,10 +284,10 @@ class BookingServiceImplTest {
     void getAllByBookerStateIsAll() {
         List<Booking> sourceBookings = List.of(bookingTest);
 
-        when(userService.getUserById(Mockito.anyLong())).thenReturn(userBooker);
-        when(bookingRepository.findByBookerIdOrderByStartDesc(Mockito.anyLong(),
-                Mockito.any(PageRequest.class)))
-                .thenReturn(sourceBookings);
+        when(userService.getUserById(Mockito.anyLong())).thenReturn(mapToUserSnapshot(userBooker));
+        when(bookingRepository.findByBookerId(Mockito.anyLong(), Mockito.eq(BookingState.ALL),
+                Mockito.anyInt(), Mockito.anyInt()))
+                .thenReturn(List.of(BookingMapper.mapToBookingDtoOut(bookingTest)));
 
         List<BookingDtoOut> targetBookingsDto = bookingService.getAllByBooker(userBooker.getId(),
                 "ALL", 1, 1);
@@ -296,11 +307,10 @@ class BookingServiceImplTest {
         List<Booking> sourceBookings = List.of(bookingTest);
         PageRequest pageRequest = PageRequest.of(1, 1);
 
-        when(userService.getUserById(Mockito.anyLong())).thenReturn(userBooker);
-        when(bookingRepository
-                .findByBookerIdAndStartAfterOrderByStartDesc(Mockito.anyLong(),
-                        Mockito.any(LocalDateTime.class), Mockito.any(PageRequest.class)))
-                .thenReturn(sourceBookings);
+        when(userService.getUserById(Mockito.anyLong())).thenReturn(mapToUserSnapshot(userBooker));
+        when(bookingRepository.findByBookerId(Mockito.anyLong(), Mockito.eq(BookingState.FUTURE),
+                Mockito.anyInt(), Mockito.anyInt()))
+                .thenReturn(List.of(BookingMapper.mapToBookingDtoOut(bookingTest)));
 
         List<BookingDtoOut> targetBookingsDto = bookingService.getAllByBooker(userBooker.getId(),
                 "FUTURE", 1, 1);
@@ -320,11 +330,10 @@ class BookingServiceImplTest {
         List<Booking> sourceBookings = List.of(bookingTest);
         PageRequest pageRequest = PageRequest.of(1, 1);
 
-        when(userService.getUserById(Mockito.anyLong())).thenReturn(userBooker);
-        when(bookingRepository
-                .findByBookerIdAndEndBeforeOrderByStartDesc(Mockito.anyLong(),
-                        Mockito.any(LocalDateTime.class), Mockito.any(PageRequest.class)))
-                .thenReturn(sourceBookings);
+        when(userService.getUserById(Mockito.anyLong())).thenReturn(mapToUserSnapshot(userBooker));
+        when(bookingRepository.findByBookerId(Mockito.anyLong(), Mockito.eq(BookingState.PAST),
+                Mockito.anyInt(), Mockito.anyInt()))
+                .thenReturn(List.of(BookingMapper.mapToBookingDtoOut(bookingTest)));
 
         List<BookingDtoOut> targetBookingsDto = bookingService.getAllByBooker(userBooker.getId(),
                 "PAST", 1, 1);
@@ -344,12 +353,10 @@ class BookingServiceImplTest {
         List<Booking> sourceBookings = List.of(bookingTest);
         PageRequest pageRequest = PageRequest.of(1, 1);
 
-        when(userService.getUserById(Mockito.anyLong())).thenReturn(userBooker);
-        when(bookingRepository
-                .findByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(Mockito.anyLong(),
-                        Mockito.any(LocalDateTime.class), Mockito.any(LocalDateTime.class),
-                        Mockito.any(PageRequest.class)))
-                .thenReturn(sourceBookings);
+        when(userService.getUserById(Mockito.anyLong())).thenReturn(mapToUserSnapshot(userBooker));
+        when(bookingRepository.findByBookerId(Mockito.anyLong(), Mockito.eq(BookingState.CURRENT),
+                Mockito.anyInt(), Mockito.anyInt()))
+                .thenReturn(List.of(BookingMapper.mapToBookingDtoOut(bookingTest)));
 
         List<BookingDtoOut> targetBookingsDto = bookingService.getAllByBooker(userBooker.getId(),
                 "CURRENT", 1, 1);
@@ -369,11 +376,10 @@ class BookingServiceImplTest {
         List<Booking> sourceBookings = List.of(bookingTest);
         PageRequest pageRequest = PageRequest.of(1, 1);
 
-        when(userService.getUserById(Mockito.anyLong())).thenReturn(userBooker);
-        when(bookingRepository
-                .findByBookerIdAndStatus(Mockito.anyLong(), Mockito.anyString(),
-                        Mockito.any(PageRequest.class)))
-                .thenReturn(sourceBookings);
+        when(userService.getUserById(Mockito.anyLong())).thenReturn(mapToUserSnapshot(userBooker));
+        when(bookingRepository.findByBookerId(Mockito.anyLong(), Mockito.eq(BookingState.WAITING),
+                Mockito.anyInt(), Mockito.anyInt()))
+                .thenReturn(List.of(BookingMapper.mapToBookingDtoOut(bookingTest)));
 
         List<BookingDtoOut> targetBookingsDto = bookingService.getAllByBooker(userBooker.getId(),
                 "WAITING", 1, 1);
@@ -393,11 +399,10 @@ class BookingServiceImplTest {
         List<Booking> sourceBookings = List.of(bookingTest);
         PageRequest pageRequest = PageRequest.of(1, 1);
 
-        when(userService.getUserById(Mockito.anyLong())).thenReturn(userBooker);
-        when(bookingRepository
-                .findByBookerIdAndStatus(Mockito.anyLong(), Mockito.anyString(),
-                        Mockito.any(PageRequest.class)))
-                .thenReturn(sourceBookings);
+        when(userService.getUserById(Mockito.anyLong())).thenReturn(mapToUserSnapshot(userBooker));
+        when(bookingRepository.findByBookerId(Mockito.anyLong(), Mockito.eq(BookingState.REJECTED),
+                Mockito.anyInt(), Mockito.anyInt()))
+                .thenReturn(List.of(BookingMapper.mapToBookingDtoOut(bookingTest)));
 
         List<BookingDtoOut> targetBookingsDto = bookingService.getAllByBooker(userBooker.getId(),
                 "REJECTED", 1, 1);
@@ -416,7 +421,7 @@ class BookingServiceImplTest {
     void getAllByBookerShouldReturnErrorUnknownState() {
         PageRequest pageRequest = PageRequest.of(1, 1);
 
-        when(userService.getUserById(Mockito.anyLong())).thenReturn(userOwner);
+        when(userService.getUserById(Mockito.anyLong())).thenReturn(mapToUserSnapshot(userOwner));
 
         BadRequestException ex = assertThrows(BadRequestException.class,
                 () -> bookingService.getAllByBooker(userBooker.getId(),
@@ -430,10 +435,10 @@ class BookingServiceImplTest {
         List<Booking> sourceBookings = List.of(bookingTest);
         PageRequest pageRequest = PageRequest.of(1, 1);
 
-        when(userService.getUserById(Mockito.anyLong())).thenReturn(userOwner);
-        when(bookingRepository.findByOwnerId(Mockito.anyLong(),
-                Mockito.any(PageRequest.class)))
-                .thenReturn(sourceBookings);
+        when(userService.getUserById(Mockito.anyLong())).thenReturn(mapToUserSnapshot(userOwner));
+        when(bookingRepository.findByOwnerId(Mockito.anyLong(), Mockito.eq(BookingState.ALL),
+                Mockito.anyInt(), Mockito.anyInt()))
+                .thenReturn(List.of(BookingMapper.mapToBookingDtoOut(bookingTest)));
 
         List<BookingDtoOut> targetBookingsDto = bookingService.getAllByOwner(userOwner.getId(),
                 "ALL", 1, 1);
@@ -453,10 +458,10 @@ class BookingServiceImplTest {
         List<Booking> sourceBookings = List.of(bookingTest);
         PageRequest pageRequest = PageRequest.of(1, 1);
 
-        when(userService.getUserById(Mockito.anyLong())).thenReturn(userOwner);
-        when(bookingRepository.findByOwnerIdFuture(Mockito.anyLong(),
-                Mockito.any(PageRequest.class)))
-                .thenReturn(sourceBookings);
+        when(userService.getUserById(Mockito.anyLong())).thenReturn(mapToUserSnapshot(userOwner));
+        when(bookingRepository.findByOwnerId(Mockito.anyLong(), Mockito.eq(BookingState.FUTURE),
+                Mockito.anyInt(), Mockito.anyInt()))
+                .thenReturn(List.of(BookingMapper.mapToBookingDtoOut(bookingTest)));
 
         List<BookingDtoOut> targetBookingsDto = bookingService.getAllByOwner(userOwner.getId(),
                 "FUTURE", 1, 1);
@@ -476,10 +481,10 @@ class BookingServiceImplTest {
         List<Booking> sourceBookings = List.of(bookingTest);
         PageRequest pageRequest = PageRequest.of(1, 1);
 
-        when(userService.getUserById(Mockito.anyLong())).thenReturn(userOwner);
-        when(bookingRepository.findByOwnerIdPast(Mockito.anyLong(),
-                Mockito.any(PageRequest.class)))
-                .thenReturn(sourceBookings);
+        when(userService.getUserById(Mockito.anyLong())).thenReturn(mapToUserSnapshot(userOwner));
+        when(bookingRepository.findByOwnerId(Mockito.anyLong(), Mockito.eq(BookingState.PAST),
+                Mockito.anyInt(), Mockito.anyInt()))
+                .thenReturn(List.of(BookingMapper.mapToBookingDtoOut(bookingTest)));
 
         List<BookingDtoOut> targetBookingsDto = bookingService.getAllByOwner(userOwner.getId(),
                 "PAST", 1, 1);
@@ -499,10 +504,10 @@ class BookingServiceImplTest {
         List<Booking> sourceBookings = List.of(bookingTest);
         PageRequest pageRequest = PageRequest.of(1, 1);
 
-        when(userService.getUserById(Mockito.anyLong())).thenReturn(userOwner);
-        when(bookingRepository.findByOwnerIdCurrent(Mockito.anyLong(),
-                Mockito.any(PageRequest.class)))
-                .thenReturn(sourceBookings);
+        when(userService.getUserById(Mockito.anyLong())).thenReturn(mapToUserSnapshot(userOwner));
+        when(bookingRepository.findByOwnerId(Mockito.anyLong(), Mockito.eq(BookingState.CURRENT),
+                Mockito.anyInt(), Mockito.anyInt()))
+                .thenReturn(List.of(BookingMapper.mapToBookingDtoOut(bookingTest)));
 
         List<BookingDtoOut> targetBookingsDto = bookingService.getAllByOwner(userOwner.getId(),
                 "CURRENT", 1, 1);
@@ -522,10 +527,10 @@ class BookingServiceImplTest {
         List<Booking> sourceBookings = List.of(bookingTest);
         PageRequest pageRequest = PageRequest.of(1, 1);
 
-        when(userService.getUserById(Mockito.anyLong())).thenReturn(userOwner);
-        when(bookingRepository.findByOwnerIdState(Mockito.anyLong(), Mockito.anyString(),
-                Mockito.any(PageRequest.class)))
-                .thenReturn(sourceBookings);
+        when(userService.getUserById(Mockito.anyLong())).thenReturn(mapToUserSnapshot(userOwner));
+        when(bookingRepository.findByOwnerId(Mockito.anyLong(), Mockito.eq(BookingState.WAITING),
+                Mockito.anyInt(), Mockito.anyInt()))
+                .thenReturn(List.of(BookingMapper.mapToBookingDtoOut(bookingTest)));
 
         List<BookingDtoOut> targetBookingsDto = bookingService.getAllByOwner(userOwner.getId(),
                 "WAITING", 1, 1);
@@ -545,10 +550,10 @@ class BookingServiceImplTest {
         List<Booking> sourceBookings = List.of(bookingTest);
         PageRequest pageRequest = PageRequest.of(1, 1);
 
-        when(userService.getUserById(Mockito.anyLong())).thenReturn(userOwner);
-        when(bookingRepository.findByOwnerIdState(Mockito.anyLong(), Mockito.anyString(),
-                Mockito.any(PageRequest.class)))
-                .thenReturn(sourceBookings);
+        when(userService.getUserById(Mockito.anyLong())).thenReturn(mapToUserSnapshot(userOwner));
+        when(bookingRepository.findByOwnerId(Mockito.anyLong(), Mockito.eq(BookingState.REJECTED),
+                Mockito.anyInt(), Mockito.anyInt()))
+                .thenReturn(List.of(BookingMapper.mapToBookingDtoOut(bookingTest)));
 
         List<BookingDtoOut> targetBookingsDto = bookingService.getAllByOwner(userOwner.getId(),
                 "REJECTED", 1, 1);
@@ -567,7 +572,7 @@ class BookingServiceImplTest {
     void getAllByOwnerShouldReturnErrorUnknownState() {
         PageRequest pageRequest = PageRequest.of(1, 1);
 
-        when(userService.getUserById(Mockito.anyLong())).thenReturn(userOwner);
+        when(userService.getUserById(Mockito.anyLong())).thenReturn(mapToUserSnapshot(userOwner));
 
         BadRequestException ex = assertThrows(BadRequestException.class,
                 () -> bookingService.getAllByOwner(userOwner.getId(), "UNKNOWN", 1, 1));
@@ -0,0 +1,228 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.TestPropertySource;
+import ru.practicum.shareit.booking.dto.BookingDtoIn;
+import ru.practicum.shareit.booking.dto.BookingDtoOut;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSnapshot;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.service.ItemSnapshots;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestDtoIn;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserSnapshot;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@TestPropertySource(properties = {"db.name=shareitTest"})
+class CacheConfigTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ItemSnapshots itemSnapshots;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRequestService itemRequestService;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User user;
+
+    @BeforeEach
+    public void setUp() {
+        UserDto userDto = new UserDto();
+        userDto.setName("cached");
+        userDto.setEmail("cached@mail.ru");
+        user = userService.createUser(userDto);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        itemRepository.deleteAll(itemRepository.findByOwnerIdOrderByIdAsc(user.getId(), Pageable.unpaged()));
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    public void getUserByIdShouldBeCachedUntilUpdate() {
+        double hits = cacheGets(CacheConfig.USERS, "hit");
+
+        UserSnapshot first = userService.getUserById(user.getId());
+        UserSnapshot second = userService.getUserById(user.getId());
+        assertSame(first, second);
+        assertTrue(cacheGets(CacheConfig.USERS, "hit") > hits);
+
+        UserDto userDto = new UserDto();
+        userDto.setName("renamed");
+        userService.updateUser(userDto, user.getId());
+
+        UserSnapshot updated = userService.getUserById(user.getId());
+        assertNotSame(first, updated);
+        assertEquals("renamed", updated.getName());
+    }
+
+    @Test
+    public void removeUserShouldEvictUser() {
+        UserDto userDto = new UserDto();
+        userDto.setName("removed");
+        userDto.setEmail("removed@mail.ru");
+        Long userId = userService.createUser(userDto).getId();
+        userService.getUserById(userId);
+
+        userService.removeUser(userId);
+
+        assertThrows(NotFoundException.class, () -> userService.getUserById(userId));
+    }
+
+    @Test
+    public void getItemByIdShouldBeCachedUntilUpdate() {
+        ItemDto itemDto = createItem(user);
+        double hits = cacheGets(CacheConfig.ITEMS, "hit");
+
+        itemService.getItemById(itemDto.getId(), user.getId());
+        ItemSnapshot first = itemSnapshots.get(itemDto.getId());
+        assertSame(first, itemSnapshots.get(itemDto.getId()));
+        itemService.getItemById(itemDto.getId(), user.getId());
+        assertTrue(cacheGets(CacheConfig.ITEMS, "hit") >= hits + 2);
+
+        itemService.updateItem(ItemDto.builder().id(itemDto.getId()).available(false).build(), user.getId());
+
+        ItemSnapshot updated = itemSnapshots.get(itemDto.getId());
+        assertNotSame(first, updated);
+        assertEquals(false, updated.getAvailable());
+    }
+
+    @Test
+    public void bookingApprovalShouldEvictItem() {
+        ItemDto itemDto = createItem(user);
+        User booker = userService.createUser(new UserDto(null, "cached booker", "cached.booker@mail.ru"));
+        BookingDtoOut booking = bookingService.createBooking(booking(itemDto.getId()), booker.getId());
+        assertNull(itemService.getItemById(itemDto.getId(), user.getId()).getNextBooking());
+
+        bookingService.updateBooking(true, booking.getId(), user.getId());
+
+        assertEquals(booking.getId(), itemService.getItemById(itemDto.getId(), user.getId())
+                .getNextBooking().getId());
+        bookingRepository.deleteById(booking.getId());
+        userRepository.deleteById(booker.getId());
+    }
+
+    @Test
+    public void removeUserShouldEvictTheirItems() {
+        User owner = userService.createUser(new UserDto(null, "removed owner", "removed.owner@mail.ru"));
+        ItemDto itemDto = createItem(owner);
+        itemService.getItemById(itemDto.getId(), owner.getId());
+
+        userService.removeUser(owner.getId());
+
+        assertThrows(NotFoundException.class, () -> itemService.getItemById(itemDto.getId(), user.getId()));
+        assertThrows(NotFoundException.class,
+                () -> bookingService.createBooking(booking(itemDto.getId()), user.getId()));
+    }
+
+    @Test
+    public void missesShouldNotBeCached() {
+        // no transaction to roll back, the miss reaches the cache
+        assertTrue(userRepository.findSnapshotById(-1L).isEmpty());
+        assertTrue(itemRequestRepository.findSnapshotById(-1L).isEmpty());
+        assertThrows(NotFoundException.class, () -> userService.getUserById(-1L));
+        assertThrows(NotFoundException.class, () -> itemRequestService.getRequestById(user.getId(), -1L));
+        assertThrows(NotFoundException.class, () -> itemService.createItem(ItemDto.builder()
+                .name("unrequested")
+                .description("unrequested")
+                .available(true)
+                .requestId(-1L)
+                .build(), user.getId()));
+    }
+
+    @Test
+    public void cachedRequestShouldBeReadAndReferencedOutsideItsTransaction() {
+        ItemRequestDto request = itemRequestService.createItemRequest(ItemRequestDtoIn.builder()
+                .description("cached request")
+                .build(), user.getId());
+        double hits = cacheGets(CacheConfig.ITEM_REQUESTS, "hit");
+
+        assertEquals("cached request", itemRequestService.getRequestById(user.getId(), request.getId())
+                .getDescription());
+        ItemDto itemDto = itemService.createItem(ItemDto.builder()
+                .name("requested")
+                .description("requested")
+                .available(true)
+                .requestId(request.getId())
+                .build(), user.getId());
+
+        assertTrue(cacheGets(CacheConfig.ITEM_REQUESTS, "hit") > hits);
+        assertEquals(request.getId(), itemDto.getRequestId());
+        assertEquals(1, itemRequestService.getRequestById(user.getId(), request.getId()).getItems().size());
+        itemRepository.deleteById(itemDto.getId());
+        itemRequestRepository.deleteById(request.getId());
+    }
+
+    private static BookingDtoIn booking(Long itemId) {
+        return BookingDtoIn.builder()
+                .itemId(itemId)
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .build();
+    }
+
+    private ItemDto createItem(User owner) {
+        return itemService.createItem(ItemDto.builder()
+                .name("cached thing")
+                .description("cached")
+                .available(true)
+                .build(), owner.getId());
+    }
+
+    private double cacheGets(String cache, String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", cache)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}
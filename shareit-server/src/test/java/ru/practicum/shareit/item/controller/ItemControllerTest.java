@@ -8,6 +8,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
@@ -27,6 +28,8 @@ import java.util.List;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -91,6 +94,7 @@ class ItemControllerTest {
                 .name("itemBooking")
                 .description("itemDescriptionBooking")
                 .available(true)
+                .version(5L)
                 .build();
 
         User user = User.builder()
@@ -176,7 +180,31 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.description",
                         is(itemDtoBookingTest.getDescription())))
                 .andExpect(jsonPath("$.available",
-                        is(itemDtoBookingTest.getAvailable())));
+                        is(itemDtoBookingTest.getAvailable())))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"i2-5-null-null-0.0.0\""));
+    }
+
+    @Test
+    public void getItemWithBookingByIdShouldReturnNotModified() throws Exception {
+        when(itemService.getItemById(Mockito.anyLong(),
+                Mockito.anyLong())).thenReturn(itemDtoBookingTest);
+
+        mvc.perform(MockMvcRequestBuilders
+                        .get(ITEM_API + "/1")
+                        .header("X-Sharer-User-Id", "1")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"i2-5-null-null-0.0.0\"")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        itemDtoBookingTest.setComments(List.of(CommentDto.builder().id(7L).text("comment").authorVersion(3L).build()));
+        mvc.perform(MockMvcRequestBuilders
+                        .get(ITEM_API + "/1")
+                        .header("X-Sharer-User-Id", "1")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"i2-5-null-null-0.0.0\"")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"i2-5-null-null-1.7.3\""));
     }
 
     @Test
@@ -5,6 +5,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemDtoBooking;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
@@ -15,6 +17,8 @@ import java.util.List;
 
 import static org.hibernate.validator.internal.util.Contracts.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DataJpaTest
 class ItemRepositoryTest {
@@ -90,6 +94,19 @@ class ItemRepositoryTest {
                 .getDescription());
     }
 
+    @Test
+    public void searchShouldSkipUnavailableItems() {
+        PageRequest pageRequest = PageRequest.of(0, 1);
+        itemTest.setAvailable(false);
+        userRepository.save(userTest);
+        itemRequestRepository.save(itemRequest);
+        itemRepository.save(itemTest);
+
+        List<Item> targetItems = itemRepository.search(itemTest.getName(), pageRequest);
+
+        assertTrue(targetItems.isEmpty());
+    }
+
     @Test
     public void findByRequestId() {
         userRepository.save(userTest);
@@ -105,4 +122,37 @@ class ItemRepositoryTest {
         assertEquals(itemTest.getRequest().getDescription(), targetItems.get(0).getRequest()
                 .getDescription());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void findDtosByOwnerId() {
+        Long ownerId = userRepository.save(userTest).getId();
+        itemTest.setRequest(null);
+        itemTest.setNextBookingId(7L);
+        itemTest.setNextBookerId(ownerId);
+        Long itemId = itemRepository.save(itemTest).getId();
+
+        List<ItemDtoBooking> targetItems = itemRepository.findDtosByOwnerId(ownerId, PageRequest.of(0, 1));
+
+        assertEquals(1, targetItems.size());
+        assertEquals(itemId, targetItems.get(0).getId());
+        assertEquals(itemTest.getName(), targetItems.get(0).getName());
+        assertNull(targetItems.get(0).getLastBooking());
+        assertEquals(7L, targetItems.get(0).getNextBooking().getId());
+        assertEquals(ownerId, targetItems.get(0).getNextBooking().getBookerId());
+    }
+
+    @Test
+    public void findDtosByRequestIdIn() {
+        userRepository.save(userTest);
+        Long itemRequestId = itemRequestRepository.save(itemRequest).getId();
+        itemRepository.save(itemTest);
+
+        List<ItemDto> targetItems = itemRepository.findDtosByRequestIdIn(List.of(itemRequestId));
+
+        assertEquals(1, targetItems.size());
+        assertEquals(itemTest.getName(), targetItems.get(0).getName());
+        assertEquals(itemTest.getDescription(), targetItems.get(0).getDescription());
+        assertEquals(itemTest.getAvailable(), targetItems.get(0).getAvailable());
+        assertEquals(itemRequestId, targetItems.get(0).getRequestId());
+    }
+}
@@ -0,0 +1,120 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryItemSearchEngineTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private InMemoryItemSearchEngine searchEngine;
+
+    private Item drill;
+
+    private Item screwdriver;
+
+    private Item hammer;
+
+    @BeforeEach
+    public void setUp() {
+        searchEngine = new InMemoryItemSearchEngine(itemRepository);
+
+        drill = Item.builder()
+                .id(1L)
+                .name("Дрель")
+                .description("Аккумуляторная дрель")
+                .available(true)
+                .build();
+        screwdriver = Item.builder()
+                .id(2L)
+                .name("Отвертка")
+                .description("Подходит как насадка на дрель")
+                .available(true)
+                .build();
+        hammer = Item.builder()
+                .id(3L)
+                .name("Молоток")
+                .description("Тяжелый молоток")
+                .available(true)
+                .build();
+
+        searchEngine.index(drill);
+        searchEngine.index(screwdriver);
+        searchEngine.index(hammer);
+    }
+
+    @Test
+    void searchShouldRankNameMatchesFirst() {
+        when(itemRepository.findAllById(Mockito.anyIterable())).thenReturn(List.of(screwdriver, drill));
+
+        List<Item> items = searchEngine.search("дрел", PageRequest.of(0, 10));
+
+        assertEquals(List.of(1L, 2L), ids(items));
+    }
+
+    @Test
+    void searchShouldRequireAllTerms() {
+        when(itemRepository.findAllById(Mockito.anyIterable())).thenReturn(List.of(screwdriver));
+
+        List<Item> items = searchEngine.search("насадка дрель", PageRequest.of(0, 10));
+
+        assertEquals(List.of(2L), ids(items));
+    }
+
+    @Test
+    void searchShouldApplyPage() {
+        when(itemRepository.findAllById(Mockito.anyIterable())).thenReturn(List.of(drill, screwdriver));
+
+        List<Item> items = searchEngine.search("ДРЕЛЬ", PageRequest.of(1, 1));
+
+        assertEquals(List.of(2L), ids(items));
+    }
+
+    @Test
+    void indexShouldReplaceUpdatedItem() {
+        hammer.setName("Кувалда");
+        hammer.setDescription("Большая кувалда");
+        searchEngine.index(hammer);
+
+        assertTrue(searchEngine.search("молоток", PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void indexShouldDropUnavailableItem() {
+        drill.setAvailable(false);
+        searchEngine.index(drill);
+        when(itemRepository.findAllById(List.of(2L))).thenReturn(List.of(screwdriver));
+
+        List<Item> items = searchEngine.search("дрель", PageRequest.of(0, 10));
+
+        assertEquals(List.of(2L), ids(items));
+    }
+
+    @Test
+    void searchShouldReturnEmptyListForBlankQuery() {
+        assertTrue(searchEngine.search("  ", PageRequest.of(0, 10)).isEmpty());
+        Mockito.verifyNoInteractions(itemRepository);
+    }
+
+    private static List<Long> ids(List<Item> items) {
+        return items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+    }
+}
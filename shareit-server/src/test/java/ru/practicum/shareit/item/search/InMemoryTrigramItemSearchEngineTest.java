@@ -0,0 +1,92 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryTrigramItemSearchEngineTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private InMemoryTrigramItemSearchEngine searchEngine;
+
+    private Item drill;
+
+    private Item screwdriver;
+
+    @BeforeEach
+    public void setUp() {
+        searchEngine = new InMemoryTrigramItemSearchEngine(itemRepository);
+
+        drill = Item.builder()
+                .id(1L)
+                .name("Дрель")
+                .description("Аккумуляторная дрель")
+                .available(true)
+                .build();
+        screwdriver = Item.builder()
+                .id(2L)
+                .name("Отвертка")
+                .description("Cordless screwdriver")
+                .available(true)
+                .build();
+
+        searchEngine.index(drill);
+        searchEngine.index(screwdriver);
+    }
+
+    @Test
+    void searchShouldMatchFragmentInsideWord() {
+        when(itemRepository.findAllById(List.of(1L))).thenReturn(List.of(drill));
+
+        List<Item> items = searchEngine.search("ДРЕЛ", PageRequest.of(0, 10));
+
+        assertEquals(List.of(drill), items);
+    }
+
+    @Test
+    void searchShouldMatchAcrossWords() {
+        when(itemRepository.findAllById(List.of(2L))).thenReturn(List.of(screwdriver));
+
+        List<Item> items = searchEngine.search("less screw", PageRequest.of(0, 10));
+
+        assertEquals(List.of(screwdriver), items);
+    }
+
+    @Test
+    void searchShouldScanForShortQuery() {
+        when(itemRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(screwdriver, drill));
+
+        List<Item> items = searchEngine.search("р", PageRequest.of(0, 10));
+
+        assertEquals(List.of(drill, screwdriver), items);
+    }
+
+    @Test
+    void searchShouldNotMatchTrigramsFromDifferentPlaces() {
+        assertTrue(searchEngine.search("дрельдр", PageRequest.of(0, 10)).isEmpty());
+        Mockito.verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    void indexShouldDropUnavailableItem() {
+        drill.setAvailable(false);
+        searchEngine.index(drill);
+
+        assertTrue(searchEngine.search("дрел", PageRequest.of(0, 10)).isEmpty());
+    }
+}
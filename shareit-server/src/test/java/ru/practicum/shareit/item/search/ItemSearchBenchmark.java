@@ -0,0 +1,133 @@
+package ru.practicum.shareit.item.search;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Substring search against Postgres: the query of {@code ItemRepository.search} with the
+ * {@code pg_trgm} indexes of {@code schema-postgresql.sql} versus the same query forced to a sequential scan.
+ * Needs a running database, e.g. the one from docker-compose:
+ * {@code mvn -pl shareit-server -P benchmark verify -DskipTests -Dbenchmark=ItemSearchBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ItemSearchBenchmark {
+
+    private static final String SCHEMA = "search_benchmark";
+
+    private static final String SEARCH = "select * from items i " +
+            "where (upper(i.name) like upper(concat('%', ?, '%')) " +
+            "or upper(i.description) like upper(concat('%', ?, '%'))) " +
+            "and i.is_available = true " +
+            "order by i.id limit 10";
+
+    @Param({"100000", "1000000", "10000000"})
+    private int items;
+
+    @Param({"дрел", "drill", "a1b2c"})
+    private String query;
+
+    private Connection indexed;
+
+    private Connection sequential;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException, IOException {
+        indexed = connect();
+        try (Statement statement = indexed.createStatement()) {
+            statement.execute("drop schema if exists " + SCHEMA + " cascade");
+            statement.execute("create schema " + SCHEMA);
+            statement.execute("set search_path = " + SCHEMA + ", public");
+            statement.execute("create table items (id bigint primary key, name varchar(255) not null, " +
+                    "description varchar(255) not null, is_available bool)");
+            statement.execute("insert into items " +
+                    "select g, (array['Дрель', 'Drill', 'Молоток', 'Hammer', 'Пила', 'Saw'])[1 + g % 6] || ' ' || g, " +
+                    "'Описание ' || md5(g::text), g % 10 <> 0 " +
+                    "from generate_series(1, " + items + ") g");
+            for (String ddl : readIndexScript().split(";")) {
+                if (!ddl.isBlank()) {
+                    statement.execute(ddl);
+                }
+            }
+            statement.execute("analyze items");
+        }
+
+        sequential = connect();
+        try (Statement statement = sequential.createStatement()) {
+            statement.execute("set search_path = " + SCHEMA + ", public");
+            statement.execute("set enable_bitmapscan = off");
+            statement.execute("set enable_indexscan = off");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        sequential.close();
+        try (Statement statement = indexed.createStatement()) {
+            statement.execute("drop schema if exists " + SCHEMA + " cascade");
+        }
+        indexed.close();
+    }
+
+    @Benchmark
+    public int trigramIndex() throws SQLException {
+        return search(indexed);
+    }
+
+    @Benchmark
+    public int sequentialScan() throws SQLException {
+        return search(sequential);
+    }
+
+    private int search(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(SEARCH)) {
+            statement.setString(1, query);
+            statement.setString(2, query);
+            int rows = 0;
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    rows++;
+                }
+            }
+            return rows;
+        }
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(System.getProperty("benchmark.jdbc.url"),
+                System.getProperty("benchmark.jdbc.username", "shareit"),
+                System.getProperty("benchmark.jdbc.password", "shareit"));
+    }
+
+    private static String readIndexScript() throws IOException {
+        try (InputStream script = ItemSearchBenchmark.class.getResourceAsStream("/schema-postgresql.sql")) {
+            return new String(script.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -5,6 +5,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.TestPropertySource;
+import ru.practicum.shareit.SqlStatements;
+import ru.practicum.shareit.batch.BatchResult;
 import ru.practicum.shareit.booking.dto.BookingDtoIn;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
@@ -15,6 +17,7 @@ import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoBooking;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.Cursors;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
@@ -23,13 +26,16 @@ import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 import javax.transaction.Transactional;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
 @SpringBootTest
@@ -46,6 +52,9 @@ class ItemServiceImplIntegrationTest {
     @Autowired
     private BookingServiceImpl bookingService;
 
+    @Autowired
+    private ItemBookingPointers itemBookingPointers;
+
     @Autowired
     private EntityManager entityManager;
 
@@ -178,6 +187,128 @@ class ItemServiceImplIntegrationTest {
         assertEquals(itemDto.getAvailable(), targetItemDtos.get(0).getAvailable());
     }
 
+    @Test
+    public void getItemsByUserIdShouldNotDependOnPageSize() {
+        User owner = userService.createUser(userDtoTest1);
+        User booker = userService.createUser(userDtoTest2);
+        LocalDateTime now = LocalDateTime.now();
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Long itemId = itemService.createItem(itemDtoTest1, owner.getId()).getId();
+            items.add(entityManager.find(Item.class, itemId));
+            insertApprovedBooking(itemId, booker.getId(), now.minusDays(2), now.minusDays(1));
+            insertApprovedBooking(itemId, booker.getId(), now.plusDays(1), now.plusDays(2));
+            insertApprovedBooking(itemId, booker.getId(), now.plusDays(3), now.plusDays(4));
+
+            Comment comment = new Comment();
+            comment.setText("comment" + i);
+            comment.setItem(entityManager.find(Item.class, itemId));
+            comment.setAuthor(booker);
+            entityManager.persist(comment);
+        }
+        itemBookingPointers.refresh(items);
+
+        long smallPageStatements = SqlStatements.count(entityManager,
+                () -> itemService.getItemsByUserId(owner.getId(), 0, 1));
+        long largePageStatements = SqlStatements.count(entityManager,
+                () -> itemService.getItemsByUserId(owner.getId(), 0, 5));
+        assertEquals(smallPageStatements, largePageStatements);
+
+        List<ItemDtoBooking> targetItemDtos = itemService.getItemsByUserId(owner.getId(), 0, 5);
+        assertEquals(5, targetItemDtos.size());
+        for (ItemDtoBooking itemDtoBooking : targetItemDtos) {
+            assertNotNull(itemDtoBooking.getLastBooking());
+            assertNotNull(itemDtoBooking.getNextBooking());
+            assertEquals(booker.getId(), itemDtoBooking.getNextBooking().getBookerId());
+            assertEquals(1, itemDtoBooking.getComments().size());
+            assertEquals(booker.getName(), itemDtoBooking.getComments().get(0).getAuthorName());
+        }
+    }
+
+    @Test
+    public void updateBookingShouldRefreshItemPointers() {
+        User owner = userService.createUser(userDtoTest1);
+        User booker = userService.createUser(userDtoTest2);
+        ItemDto itemDto = itemService.createItem(itemDtoTest1, owner.getId());
+        bookingDtoIn.setItemId(itemDto.getId());
+        Long bookingId = bookingService.createBooking(bookingDtoIn, booker.getId()).getId();
+
+        assertNull(itemService.getItemById(itemDto.getId(), owner.getId()).getNextBooking());
+
+        bookingService.updateBooking(true, bookingId, owner.getId());
+
+        ItemDtoBooking itemDtoReturn = itemService.getItemById(itemDto.getId(), owner.getId());
+        assertEquals(bookingId, itemDtoReturn.getNextBooking().getId());
+        assertEquals(booker.getId(), itemDtoReturn.getNextBooking().getBookerId());
+        assertNull(itemDtoReturn.getLastBooking());
+        assertNull(itemService.getItemById(itemDto.getId(), booker.getId()).getNextBooking());
+    }
+
+    @Test
+    public void rollShouldMoveStartedBookingToLast() {
+        User owner = userService.createUser(userDtoTest1);
+        User booker = userService.createUser(userDtoTest2);
+        Long itemId = itemService.createItem(itemDtoTest1, owner.getId()).getId();
+        LocalDateTime now = LocalDateTime.now();
+        insertApprovedBooking(itemId, booker.getId(), now.minusHours(1), now.plusHours(1));
+        Long startedId = ((Number) entityManager.createNativeQuery("select max(id) from bookings")
+                .getSingleResult()).longValue();
+        Item item = entityManager.find(Item.class, itemId);
+        item.setNextBookingId(startedId);
+        item.setNextBookerId(booker.getId());
+        item.setNextBookingStart(now.minusHours(1));
+
+        itemBookingPointers.roll();
+
+        assertEquals(startedId, item.getLastBookingId());
+        assertNull(item.getNextBookingId());
+        assertNull(item.getNextBookingStart());
+    }
+
+    @Test
+    public void backfillShouldPopulatePointers() {
+        User owner = userService.createUser(userDtoTest1);
+        User booker = userService.createUser(userDtoTest2);
+        Long itemId = itemService.createItem(itemDtoTest1, owner.getId()).getId();
+        LocalDateTime now = LocalDateTime.now();
+        insertApprovedBooking(itemId, booker.getId(), now.minusDays(2), now.minusDays(1));
+        insertApprovedBooking(itemId, booker.getId(), now.plusDays(1), now.plusDays(2));
+
+        itemBookingPointers.backfill();
+
+        ItemDtoBooking itemDtoReturn = itemService.getItemById(itemId, owner.getId());
+        assertNotNull(itemDtoReturn.getLastBooking());
+        assertNotNull(itemDtoReturn.getNextBooking());
+    }
+
+    @Test
+    public void getItemsByUserIdShouldSkipBookingsForItemsWithoutHistory() {
+        User user = userService.createUser(userDtoTest1);
+        itemService.createItem(itemDtoTest1, user.getId());
+
+        List<ItemDtoBooking> targetItemDtos = itemService.getItemsByUserId(user.getId(), 0, 10);
+
+        assertEquals(1, targetItemDtos.size());
+        assertNull(targetItemDtos.get(0).getLastBooking());
+        assertNull(targetItemDtos.get(0).getNextBooking());
+        assertTrue(targetItemDtos.get(0).getComments().isEmpty());
+    }
+
+    @Test
+    public void getItemsByUserIdAfter() {
+        User user = userService.createUser(userDtoTest1);
+        Long firstId = itemService.createItem(itemDtoTest1, user.getId()).getId();
+        Long secondId = itemService.createItem(itemDtoTest1, user.getId()).getId();
+        Long thirdId = itemService.createItem(itemDtoTest1, user.getId()).getId();
+
+        List<ItemDtoBooking> targetItemDtos = itemService.getItemsByUserIdAfter(user.getId(),
+                Cursors.encodeItem(firstId), 10);
+
+        assertEquals(2, targetItemDtos.size());
+        assertEquals(secondId, targetItemDtos.get(0).getId());
+        assertEquals(thirdId, targetItemDtos.get(1).getId());
+    }
+
     @Test
     public void getItemsByQuery() {
         User user = userService.createUser(userDtoTest1);
@@ -202,6 +333,8 @@ class ItemServiceImplIntegrationTest {
 
         bookingDtoIn.setItemId(itemDto.getId());
         bookingService.createBooking(bookingDtoIn, userId2);
+        // sequence ids defer the insert, and its validation, to the flush
+        entityManager.flush();
 
         wait(3500);
         CommentDto commentDtoReturn = itemService.createComment(commentTest, itemDto.getId(),
@@ -210,6 +343,7 @@ class ItemServiceImplIntegrationTest {
         assertEquals(commentTest.getCreated(), commentDtoReturn.getCreated());
         assertEquals(commentTest.getAuthor().getName(), commentDtoReturn.getAuthorName());
         assertNotNull(commentDtoReturn.getId());
+        assertNotNull(commentDtoReturn.getAuthorVersion());
     }
 
     @Test
@@ -252,4 +386,44 @@ class ItemServiceImplIntegrationTest {
                 () -> itemService.getItemById(99L));
         assertEquals("Item with Id = 99 does not exist", ex.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void createItemsShouldInsertValidRowsInBatches() {
+        User user = userService.createUser(userDtoTest1);
+        List<ItemDto> itemDtos = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            itemDtos.add(ItemDto.builder()
+                    .name("item" + i)
+                    .description("description" + i)
+                    .available(true)
+                    .build());
+        }
+        itemDtos.get(3).setName("");
+        itemDtos.get(4).setRequestId(99L);
+        List<BatchResult<ItemDto>> results = new ArrayList<>();
+
+        long statements = SqlStatements.count(entityManager,
+                () -> results.addAll(itemService.createItems(itemDtos, user.getId())));
+
+        assertEquals(120, results.size());
+        assertEquals(400, results.get(3).getStatus());
+        assertEquals(404, results.get(4).getStatus());
+        assertEquals("Request with Id = 99 does not exist", results.get(4).getError());
+        assertEquals(201, results.get(5).getStatus());
+        assertEquals(5, results.get(5).getIndex());
+        assertEquals("item5", results.get(5).getResult().getName());
+        assertNotNull(results.get(5).getResult().getId());
+        assertEquals(118, itemService.getItemsByUserId(user.getId(), 0, 200).size());
+        assertTrue(statements < 20, "statements: " + statements);
+    }
+
+    private void insertApprovedBooking(Long itemId, Long bookerId, LocalDateTime start, LocalDateTime end) {
+        entityManager.createNativeQuery("insert into bookings (id, start_date, end_date, item_id, booker_id, status) " +
+                        "values (next value for bookings_seq, ?1, ?2, ?3, ?4, 'APPROVED')")
+                .setParameter(1, start)
+                .setParameter(2, end)
+                .setParameter(3, itemId)
+                .setParameter(4, bookerId)
+                .executeUpdate();
+    }
+}
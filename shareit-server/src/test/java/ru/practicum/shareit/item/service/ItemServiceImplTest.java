@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,16 +15,21 @@ import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoBooking;
+import ru.practicum.shareit.item.dto.ItemSnapshot;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.singleflight.SingleFlight;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
+import javax.validation.Validation;
+import javax.validation.Validator;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -39,6 +45,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.user.mapper.UserMapper.mapToUserSnapshot;
 
 @ExtendWith(MockitoExtension.class)
 class ItemServiceImplTest {
@@ -58,6 +65,14 @@ class ItemServiceImplTest {
     @Mock
     private ItemRequestRepository itemRequestRepository;
 
+    @Mock
+    private ItemSearchEngine itemSearchEngine;
+
+    @Mock
+    private ItemSnapshots itemSnapshots;
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
 
     @InjectMocks
     private ItemServiceImpl itemService;
@@ -75,7 +90,8 @@ class ItemServiceImplTest {
     public void setUp() {
 
         itemService = new ItemServiceImpl(userService, itemRepository, bookingRepository,
-                commentRepository, itemRequestRepository);
+                commentRepository, itemRequestRepository, itemSearchEngine, validator,
+                new SingleFlight<>("item-reads", new SimpleMeterRegistry()), itemSnapshots);
 
         userTest = new User();
         userTest.setId(1L);
@@ -122,6 +138,7 @@ class ItemServiceImplTest {
         assertEquals(itemDtoTest.getName(), itemReturn.getName());
         assertEquals(itemDtoTest.getDescription(), itemReturn.getDescription());
         assertTrue(itemReturn.getAvailable());
+        Mockito.verify(itemSearchEngine).index(item);
     }
 
     @Test
@@ -142,8 +159,7 @@ class ItemServiceImplTest {
         itemDtoTest.setAvailable(false);
 
         Long userId = userTest.getId();
-        when(userService.getUserById(Mockito.anyLong())).thenReturn(userTest);
-        when(itemRepository.existsById(Mockito.anyLong())).thenReturn(true);
+        when(userService.getUserById(Mockito.anyLong())).thenReturn(mapToUserSnapshot(userTest));
         when(itemRepository.findById(Mockito.anyLong()))
                 .thenReturn(Optional.ofNullable(itemTest));
         when(itemRepository.save(Mockito.any(Item.class))).thenReturn(itemTest);
@@ -160,8 +176,7 @@ class ItemServiceImplTest {
         itemDtoTest.setName("rename");
 
         Long userId = userTest.getId();
-        when(userService.getUserById(Mockito.anyLong())).thenReturn(userTest);
-        when(itemRepository.existsById(Mockito.anyLong())).thenReturn(true);
+        when(userService.getUserById(Mockito.anyLong())).thenReturn(mapToUserSnapshot(userTest));
         when(itemRepository.findById(Mockito.anyLong()))
                 .thenReturn(Optional.ofNullable(itemTest));
         when(itemRepository.save(Mockito.any(Item.class))).thenReturn(itemTest);
@@ -178,8 +193,7 @@ class ItemServiceImplTest {
         itemDtoTest.setDescription("redescription");
 
         Long userId = userTest.getId();
-        when(userService.getUserById(Mockito.anyLong())).thenReturn(userTest);
-        when(itemRepository.existsById(Mockito.anyLong())).thenReturn(true);
+        when(userService.getUserById(Mockito.anyLong())).thenReturn(mapToUserSnapshot(userTest));
         when(itemRepository.findById(Mockito.anyLong()))
                 .thenReturn(Optional.ofNullable(itemTest));
         when(itemRepository.save(Mockito.any(Item.class))).thenReturn(itemTest);
@@ -196,8 +210,7 @@ class ItemServiceImplTest {
         itemDtoTest.setAvailable(false);
 
         Long userId = userTest.getId();
-        when(userService.getUserById(Mockito.anyLong())).thenReturn(userTest);
-        when(itemRepository.existsById(Mockito.anyLong())).thenReturn(true);
+        when(userService.getUserById(Mockito.anyLong())).thenReturn(mapToUserSnapshot(userTest));
         when(itemRepository.findById(Mockito.anyLong()))
                 .thenReturn(Optional.ofNullable(itemTest));
         when(itemRepository.save(Mockito.any(Item.class))).thenReturn(itemTest);
@@ -214,8 +227,7 @@ class ItemServiceImplTest {
         itemDtoTest.setDescription("");
 
         Long userId = userTest.getId();
-        when(userService.getUserById(Mockito.anyLong())).thenReturn(userTest);
-        when(itemRepository.existsById(Mockito.anyLong())).thenReturn(true);
+        when(userService.getUserById(Mockito.anyLong())).thenReturn(mapToUserSnapshot(userTest));
         when(itemRepository.findById(Mockito.anyLong()))
                 .thenReturn(Optional.ofNullable(itemTest));
 
@@ -230,8 +242,7 @@ class ItemServiceImplTest {
         itemDtoTest.setName("");
 
         Long userId = userTest.getId();
-        when(userService.getUserById(Mockito.anyLong())).thenReturn(userTest);
-        when(itemRepository.existsById(Mockito.anyLong())).thenReturn(true);
+        when(userService.getUserById(Mockito.anyLong())).thenReturn(mapToUserSnapshot(userTest));
         when(itemRepository.findById(Mockito.anyLong()))
                 .thenReturn(Optional.ofNullable(itemTest));
 
@@ -244,34 +255,36 @@ class ItemServiceImplTest {
     void getItemWithBookingById() {
         Long userId = userTest.getId();
 
-        when(userService.getUserById(Mockito.anyLong())).thenReturn(userTest);
-        when(itemRepository.existsById(Mockito.anyLong())).thenReturn(true);
-        when(itemRepository.findById(Mockito.anyLong()))
-                .thenReturn(Optional.ofNullable(itemTest));
+        when(userService.getUserById(Mockito.anyLong())).thenReturn(mapToUserSnapshot(userTest));
+        when(itemSnapshots.get(Mockito.anyLong()))
+                .thenReturn(new ItemSnapshot(itemTest.getId(), itemTest.getName(), itemTest.getDescription(),
+                        itemTest.getAvailable(), userId, null, null, bookingTest.getId(), userTest.getId(), 0L));
         when(commentRepository.findByItemId(Mockito.anyLong()))
                 .thenReturn(List.of(commentTest));
-        when(bookingRepository.findByItemIdNext(Mockito.anyLong())).thenReturn(bookingTest);
 
         ItemDtoBooking itemReturn = itemService.getItemById(itemTest.getId(), userId);
         assertEquals(itemTest.getName(), itemReturn.getName());
         assertEquals(itemTest.getDescription(), itemReturn.getDescription());
         assertEquals(itemTest.getAvailable(), itemReturn.getAvailable());
-        assertEquals(itemTest.getComments(), itemReturn.getComments());
+        assertEquals(commentTest.getText(), itemReturn.getComments().get(0).getText());
+        assertEquals(bookingTest.getId(), itemReturn.getNextBooking().getId());
     }
 
     @Test
     void getItemsByUserId() {
         List<Item> sourceItems = List.of(itemTest);
-
-        when(itemRepository.findByOwnerIdOrderByIdAsc(Mockito.anyLong(),
-                Mockito.any())).thenReturn(sourceItems);
-        when(userService.getUserById(Mockito.anyLong())).thenReturn(userTest);
-        when(itemRepository.existsById(Mockito.anyLong())).thenReturn(true);
-        when(itemRepository.findById(Mockito.anyLong()))
-                .thenReturn(Optional.ofNullable(itemTest));
-        when(commentRepository.findByItemId(Mockito.anyLong()))
-                .thenReturn(List.of(commentTest));
-        when(bookingRepository.findByItemIdNext(Mockito.anyLong())).thenReturn(bookingTest);
+        itemTest.setNextBookingId(bookingTest.getId());
+        itemTest.setNextBookerId(userTest.getId());
+
+        when(itemRepository.findDtosByOwnerId(Mockito.anyLong(), Mockito.any()))
+                .thenReturn(List.of(ItemMapper.mapToItemDtoBooking(itemTest, true)));
+        when(commentRepository.findDtosByItemIdIn(Mockito.anyCollection()))
+                .thenReturn(List.of(CommentDto.builder()
+                        .id(commentTest.getId())
+                        .text(commentTest.getText())
+                        .authorName(userTest.getName())
+                        .itemId(itemTest.getId())
+                        .build()));
 
         List<ItemDtoBooking> targetItemDtos = itemService.getItemsByUserId(userTest.getId(),
                 1,1);
@@ -286,6 +299,17 @@ class ItemServiceImplTest {
                     hasProperty("available", equalTo(sourceItem.getAvailable()))
             )));
         }
+        assertEquals(1, targetItemDtos.get(0).getComments().size());
+        assertEquals(bookingTest.getId(), targetItemDtos.get(0).getNextBooking().getId());
+    }
+
+    @Test
+    void getItemsByUserIdShouldReturnEmptyList() {
+        when(itemRepository.findDtosByOwnerId(Mockito.anyLong(), Mockito.any())).thenReturn(List.of());
+
+        List<ItemDtoBooking> targetItemDtos = itemService.getItemsByUserId(userTest.getId(), 0, 1);
+
+        assertTrue(targetItemDtos.isEmpty());
     }
 
     @Test
@@ -293,7 +317,7 @@ class ItemServiceImplTest {
         List<Item> sourceItems = List.of(itemTest);
         String query = "query";
 
-        when(itemRepository.search(Mockito.anyString(), Mockito.any()))
+        when(itemSearchEngine.search(Mockito.anyString(), Mockito.any()))
                 .thenReturn(sourceItems);
 
         List<ItemDto> targetItemDtos = itemService.getItemsByQuery(query, 0, 1);
@@ -313,24 +337,20 @@ class ItemServiceImplTest {
 
     @Test
     void getItemsByQueryIsEmpty() {
-        List<Item> sourceItems = List.of(itemTest);
         String query = "";
 
-        when(itemRepository.search(Mockito.anyString(),
-                Mockito.any())).thenReturn(sourceItems);
-
         List<ItemDto> targetItemDtos = itemService.getItemsByQuery(query, 0, 1);
         assertTrue(targetItemDtos.isEmpty());
+        Mockito.verifyNoInteractions(itemSearchEngine);
     }
 
     @Test
     void createComment() {
         when(bookingRepository.findBookingForComment(Mockito.anyLong(),
                 Mockito.anyLong())).thenReturn(bookingTest);
-        when(itemRepository.existsById(Mockito.anyLong())).thenReturn(true);
         when(itemRepository.findById(Mockito.anyLong()))
                 .thenReturn(Optional.ofNullable(itemTest));
-        when(userService.getUserById(Mockito.anyLong())).thenReturn(userTest);
+        when(userService.getUserReference(Mockito.anyLong())).thenReturn(userTest);
         when(commentRepository.save(Mockito.any(Comment.class))).thenReturn(commentTest);
 
         CommentDto commentDtoReturn = itemService.createComment(commentTest, 1L, 1L);
@@ -350,7 +370,6 @@ class ItemServiceImplTest {
 
     @Test
     void getItemById() {
-        when(itemRepository.existsById(Mockito.anyLong())).thenReturn(true);
         when(itemRepository.findById(Mockito.anyLong()))
                 .thenReturn(Optional.ofNullable(itemTest));
 
@@ -363,7 +382,7 @@ class ItemServiceImplTest {
 
     @Test
     void getItemByIdShouldReturnErrorNotExist() {
-        when(itemRepository.existsById(Mockito.anyLong())).thenReturn(false);
+        when(itemRepository.findById(Mockito.anyLong())).thenReturn(Optional.empty());
 
         NotFoundException ex = assertThrows(NotFoundException.class,
                 () -> itemService.getItemById(1L));
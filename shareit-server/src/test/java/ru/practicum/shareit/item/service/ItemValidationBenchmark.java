@@ -0,0 +1,69 @@
+package ru.practicum.shareit.item.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost of bean validation on the item write path: a validator factory bootstrapped
+ * for every call, as the services used to do, versus the shared injected {@link Validator}.
+ * Run with the GC profiler to see the allocation side as well:
+ * {@code mvn -pl shareit-server -P benchmark verify -DskipTests -Dbenchmark="ItemValidationBenchmark -prof gc"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ItemValidationBenchmark {
+
+    private Validator validator;
+
+    private Item item;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+        User owner = new User();
+        owner.setId(1L);
+        owner.setName("owner");
+        owner.setEmail("owner@mail.ru");
+
+        item = new Item();
+        item.setId(1L);
+        item.setName("drill");
+        item.setDescription("cordless drill");
+        item.setAvailable(true);
+        item.setOwner(owner);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<Item>> factoryPerCall() {
+        return Validation.buildDefaultValidatorFactory()
+                .getValidator()
+                .validate(item);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<Item>> sharedValidator() {
+        return validator.validate(item);
+    }
+}
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.transaction.Transactional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Transactional
+@SpringBootTest
+@TestPropertySource(properties = {"db.name=shareitTest"})
+class MethodTimingAspectTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void serviceAndRepositoryCallsShouldBeTimedOnce() {
+        User booker = userService.createUser(new UserDto(null, "booker", "booker@mail.ru"));
+        long services = count(MethodTimingAspect.SERVICE_TIMER, "BookingService", "getAllByBooker", "none");
+        long queries = count(MethodTimingAspect.REPOSITORY_TIMER, "BookingRepository", "findByBookerId", "none");
+
+        bookingService.getAllByBooker(booker.getId(), "ALL", 0, 10);
+
+        assertEquals(services + 1,
+                count(MethodTimingAspect.SERVICE_TIMER, "BookingService", "getAllByBooker", "none"));
+        assertEquals(queries + 1,
+                count(MethodTimingAspect.REPOSITORY_TIMER, "BookingRepository", "findByBookerId", "none"));
+    }
+
+    @Test
+    public void failedCallShouldBeTaggedWithException() {
+        User user = userService.createUser(new UserDto(null, "user", "user@mail.ru"));
+        long failures = count(MethodTimingAspect.SERVICE_TIMER, "BookingService", "getBookingById",
+                "NotFoundException");
+        long queries = count(MethodTimingAspect.REPOSITORY_TIMER, "BookingRepository", "findDetailById", "none");
+
+        assertThrows(NotFoundException.class, () -> bookingService.getBookingById(-1L, user.getId()));
+
+        assertEquals(failures + 1, count(MethodTimingAspect.SERVICE_TIMER, "BookingService", "getBookingById",
+                "NotFoundException"));
+        assertEquals(queries + 1,
+                count(MethodTimingAspect.REPOSITORY_TIMER, "BookingRepository", "findDetailById", "none"));
+    }
+
+    private long count(String name, String type, String method, String exception) {
+        Timer timer = meterRegistry.find(name)
+                .tag("class", type)
+                .tag("method", method)
+                .tag("exception", exception)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
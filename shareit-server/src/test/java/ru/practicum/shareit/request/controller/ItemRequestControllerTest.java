@@ -7,10 +7,12 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestDtoIn;
 import ru.practicum.shareit.request.service.ItemRequestService;
@@ -20,6 +22,7 @@ import java.util.List;
 
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -156,4 +159,17 @@ class ItemRequestControllerTest {
                 .andExpect(jsonPath("$.description",
                         is(itemRequestTest.getDescription())));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void getRequestByIdShouldTagEveryItemVersion() throws Exception {
+        itemRequestTest.setItems(List.of(
+                ItemDto.builder().id(4L).name("item").description("item").available(true).version(0L).build(),
+                ItemDto.builder().id(5L).name("item").description("item").available(true).version(3L).build()));
+        when(itemRequestService.getRequestById(Mockito.anyLong(),
+                Mockito.anyLong())).thenReturn(itemRequestTest);
+
+        performItemRequestGet(ITEM_REQUEST_API + "/1")
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"r1-2-4:0.5:3\""));
+    }
+}
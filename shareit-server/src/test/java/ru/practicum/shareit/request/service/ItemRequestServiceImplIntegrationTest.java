@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.TestPropertySource;
+import ru.practicum.shareit.SqlStatements;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
@@ -122,6 +123,33 @@ class ItemRequestServiceImplIntegrationTest {
         assertEquals(itemRequestDtoIn.getDescription(), targetItemRequest.get(0).getDescription());
     }
 
+    @Test
+    void getAllByNotRequestorIdShouldNotDependOnPageSize() {
+        for (int i = 0; i < 5; i++) {
+            Long requestId = itemRequestService.createItemRequest(itemRequestDtoIn, userRequestor.getId()).getId();
+            itemService.createItem(ItemDto.builder()
+                    .name("answer" + i)
+                    .description("answer description")
+                    .available(true)
+                    .requestId(requestId)
+                    .build(), userOwner.getId());
+        }
+
+        long smallPageStatements = SqlStatements.count(entityManager, () -> itemRequestService
+                .getAllByNotRequestorId(userOwner.getId(), 0, 1));
+        long largePageStatements = SqlStatements.count(entityManager, () -> itemRequestService
+                .getAllByNotRequestorId(userOwner.getId(), 0, 5));
+        assertEquals(smallPageStatements, largePageStatements);
+
+        List<ItemRequestDto> targetItemRequest = itemRequestService
+                .getAllByNotRequestorId(userOwner.getId(), 0, 5);
+        assertEquals(5, targetItemRequest.size());
+        for (ItemRequestDto itemRequestDto : targetItemRequest) {
+            assertEquals(1, itemRequestDto.getItems().size());
+            assertEquals(itemRequestDto.getId(), itemRequestDto.getItems().get(0).getRequestId());
+        }
+    }
+
     @Test
     void getAllByNotRequestorIdShouldReturnEmptyList() {
         itemRequestService.createItemRequest(itemRequestDtoIn, userRequestor.getId());
@@ -141,4 +169,4 @@ class ItemRequestServiceImplIntegrationTest {
 
         assertEquals(itemRequestDtoIn.getDescription(), itemRequestReturn.getDescription());
     }
-}
\ No newline at end of file
+}
@@ -10,11 +10,13 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestDtoIn;
+import ru.practicum.shareit.request.dto.ItemRequestSnapshot;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
@@ -32,6 +34,7 @@ import static org.hamcrest.Matchers.hasProperty;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.user.mapper.UserMapper.mapToUserSnapshot;
 
 @ExtendWith(MockitoExtension.class)
 class ItemRequestServiceImplTest {
@@ -102,7 +105,7 @@ class ItemRequestServiceImplTest {
 
     @Test
     public void createItemRequest() {
-        when(userService.getUserById(Mockito.anyLong())).thenReturn(userRequestor);
+        when(userService.getUserReference(Mockito.anyLong())).thenReturn(userRequestor);
         when(itemRequestRepository.save(Mockito.any(ItemRequest.class)))
                 .thenReturn(itemRequestTest);
 
@@ -117,10 +120,12 @@ class ItemRequestServiceImplTest {
     public void getAllByRequestorId() {
         List<ItemRequest> sourceItemRequest = List.of(itemRequestTest);
         List<Item> items = List.of(itemTest);
-        when(userService.getUserById(Mockito.anyLong())).thenReturn(userRequestor);
-        when(itemRequestRepository.findByRequestorIdOrderByCreatedDesc(Mockito.anyLong()))
-                .thenReturn(sourceItemRequest);
-        when(itemRepository.findByRequestId(Mockito.anyLong())).thenReturn(items);
+        when(userService.getUserById(Mockito.anyLong())).thenReturn(mapToUserSnapshot(userRequestor));
+        when(itemRequestRepository.findDtosByRequestorId(Mockito.anyLong()))
+                .thenReturn(List.of(requestRow(itemRequestTest)));
+        itemTest.setRequest(itemRequestTest);
+        when(itemRepository.findDtosByRequestIdIn(Mockito.anyCollection()))
+                .thenReturn(ItemMapper.mapToItemsDto(items));
 
         List<ItemRequestDto> targetItemRequest = itemRequestService.getAllByRequestorId(userRequestor.getId());
 
@@ -133,16 +138,19 @@ class ItemRequestServiceImplTest {
                     hasProperty("created", equalTo(itemRequest.getCreated()))
             )));
         }
+        assertEquals(1, targetItemRequest.get(0).getItems().size());
     }
 
     @Test
     public void getAllByNotRequestorId() {
         List<ItemRequest> sourceItemRequest = List.of(itemRequestTest);
         List<Item> items = List.of(itemTest);
-        when(userService.getUserById(Mockito.anyLong())).thenReturn(userOwner);
-        when(itemRequestRepository.findByRequestorIdNotOrderByCreatedDesc(Mockito.anyLong(),
-                Mockito.any(PageRequest.class))).thenReturn(sourceItemRequest);
-        when(itemRepository.findByRequestId(Mockito.anyLong())).thenReturn(items);
+        when(userService.getUserById(Mockito.anyLong())).thenReturn(mapToUserSnapshot(userOwner));
+        when(itemRequestRepository.findDtosByRequestorIdNot(Mockito.anyLong(),
+                Mockito.any(PageRequest.class))).thenReturn(List.of(requestRow(itemRequestTest)));
+        itemTest.setRequest(itemRequestTest);
+        when(itemRepository.findDtosByRequestIdIn(Mockito.anyCollection()))
+                .thenReturn(ItemMapper.mapToItemsDto(items));
 
         List<ItemRequestDto> targetItemRequest = itemRequestService
                 .getAllByNotRequestorId(userRequestor.getId(), 1, 1);
@@ -162,12 +170,12 @@ class ItemRequestServiceImplTest {
     @Test
     public void getRequestById() {
         List<Item> items = List.of(itemTest);
-        when(userService.getUserById(Mockito.anyLong())).thenReturn(userOwner);
-        when(itemRequestRepository.existsById(Mockito.anyLong())).thenReturn(true);
-
-        when(itemRequestRepository.findById(Mockito.anyLong()))
-                .thenReturn(Optional.ofNullable(itemRequestTest));
-        when(itemRepository.findByRequestId(Mockito.anyLong())).thenReturn(items);
+        when(userService.getUserById(Mockito.anyLong())).thenReturn(mapToUserSnapshot(userOwner));
+        when(itemRequestRepository.findSnapshotById(Mockito.anyLong()))
+                .thenReturn(Optional.of(new ItemRequestSnapshot(itemRequestTest.getId(),
+                        itemRequestTest.getDescription(), itemRequestTest.getCreated())));
+        when(itemRepository.findDtosByRequestIdIn(Mockito.anyCollection()))
+                .thenReturn(ItemMapper.mapToItemsDto(items));
 
         ItemRequestDto itemRequestReturn = itemRequestService.getRequestById(userOwner.getId(),
                 itemRequestTest.getId());
@@ -178,12 +186,16 @@ class ItemRequestServiceImplTest {
 
     @Test
     public void getRequestByIdShouldReturnErrorRequestNotExist() {
-        when(userService.getUserById(Mockito.anyLong())).thenReturn(userOwner);
-        when(itemRequestRepository.existsById(Mockito.anyLong())).thenReturn(false);
+        when(userService.getUserById(Mockito.anyLong())).thenReturn(mapToUserSnapshot(userOwner));
+        when(itemRequestRepository.findSnapshotById(Mockito.anyLong())).thenReturn(Optional.empty());
 
         NotFoundException ex = assertThrows(NotFoundException.class,
                 () -> itemRequestService.getRequestById(userOwner.getId(),
                         itemRequestTest.getId()));
         assertEquals("Request with Id = 1 does not exist", ex.getMessage());
     }
-}
\ No newline at end of file
+
+    private static ItemRequestDto requestRow(ItemRequest itemRequest) {
+        return new ItemRequestDto(itemRequest.getId(), itemRequest.getDescription(), itemRequest.getCreated());
+    }
+}
@@ -0,0 +1,131 @@
+package ru.practicum.shareit.singleflight;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.NotFoundException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private MeterRegistry meterRegistry;
+
+    private SingleFlight<Long, String> singleFlight;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight<>("test", meterRegistry);
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallsShouldShareOneComputation() throws Exception {
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> singleFlight.execute(1L, () -> {
+            computations.incrementAndGet();
+            started.countDown();
+            await(release);
+            return "item";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        List<Future<String>> followers = new ArrayList<>();
+        for (int i = 1; i < CALLERS; i++) {
+            followers.add(executor.submit(() -> singleFlight.execute(1L, () -> {
+                computations.incrementAndGet();
+                return "other";
+            })));
+        }
+        while (coalesced() < CALLERS - 1) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        assertEquals("item", leader.get(5, TimeUnit.SECONDS));
+        for (Future<String> follower : followers) {
+            assertEquals("item", follower.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, computations.get());
+        assertEquals(1, meterRegistry.get("shareit.singleflight.calls").tag("outcome", "executed")
+                .counter().count());
+        assertEquals(0, meterRegistry.get("shareit.singleflight.in.flight").gauge().value());
+    }
+
+    @Test
+    void completedCallShouldNotBeReused() {
+        AtomicInteger computations = new AtomicInteger();
+
+        singleFlight.execute(1L, () -> "v" + computations.incrementAndGet());
+        String second = singleFlight.execute(1L, () -> "v" + computations.incrementAndGet());
+
+        assertEquals("v2", second);
+        assertEquals(0, coalesced());
+    }
+
+    @Test
+    void exceptionShouldReachEveryCaller() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> singleFlight.execute(1L, () -> {
+            started.countDown();
+            await(release);
+            throw new NotFoundException("Item with Id = 1 does not exist");
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<String> follower = executor.submit(() -> {
+            try {
+                return singleFlight.execute(1L, () -> "item");
+            } catch (NotFoundException e) {
+                return e.getMessage();
+            }
+        });
+        while (coalesced() < 1) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        Exception exception = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+        assertTrue(exception.getCause() instanceof NotFoundException);
+        assertEquals("Item with Id = 1 does not exist", follower.get(5, TimeUnit.SECONDS));
+    }
+
+    private double coalesced() {
+        return meterRegistry.get("shareit.singleflight.calls").tag("outcome", "coalesced").counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package ru.practicum.shareit.sqlbudget;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.Environment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.method.HandlerMethod;
+import ru.practicum.shareit.booking.dto.BookingDtoIn;
+import ru.practicum.shareit.booking.dto.BookingDtoOut;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestDtoIn;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Transactional
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {"db.name=shareitTest"})
+class SqlBudgetInterceptorTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ItemRequestService itemRequestService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    public void getItemsByUserIdShouldRecordStatementsAndRows() throws Exception {
+        User owner = userService.createUser(new UserDto(null, "owner", "owner@mail.ru"));
+        for (int i = 0; i < 3; i++) {
+            itemService.createItem(ItemDto.builder()
+                    .name("item" + i)
+                    .description("description" + i)
+                    .available(true)
+                    .build(), owner.getId());
+        }
+        entityManager.flush();
+
+        DistributionSummary statements = summary("shareit.http.sql.statements", "ItemController.getItemsByUserId");
+        DistributionSummary rows = summary("shareit.http.sql.rows", "ItemController.getItemsByUserId");
+        long calls = statements.count();
+        double statementsBefore = statements.totalAmount();
+        double rowsBefore = rows.totalAmount();
+
+        mvc.perform(get("/items").header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(status().isOk());
+
+        // the page of items and the comments of those items
+        assertEquals(calls + 1, statements.count());
+        assertEquals(statementsBefore + 2, statements.totalAmount());
+        assertEquals(rowsBefore + 3, rows.totalAmount());
+    }
+
+    @Test
+    public void getItemsByUserIdShouldStayWithinBudget() throws Exception {
+        Fixture fixture = fixture();
+
+        assertWithinBudget("ItemController.getItemsByUserId", get("/items"), fixture.owner);
+    }
+
+    @Test
+    public void getAllByBookerShouldStayWithinBudget() throws Exception {
+        Fixture fixture = fixture();
+
+        assertWithinBudget("BookingController.getAllByBooker", get("/bookings"), fixture.booker);
+    }
+
+    @Test
+    public void getAllByOwnerShouldStayWithinBudget() throws Exception {
+        Fixture fixture = fixture();
+
+        assertWithinBudget("BookingController.getAllByOwner", get("/bookings/owner"), fixture.owner);
+    }
+
+    @Test
+    public void getAllByRequestorIdShouldStayWithinBudget() throws Exception {
+        Fixture fixture = fixture();
+
+        assertWithinBudget("ItemRequestController.getAllByRequestorId", get("/requests"), fixture.booker);
+    }
+
+    @Test
+    public void getAllByRequestsByUserIdShouldStayWithinBudget() throws Exception {
+        Fixture fixture = fixture();
+
+        assertWithinBudget("ItemRequestController.getAllByRequestsByUserId", get("/requests/all"), fixture.owner);
+    }
+
+    @Test
+    public void exceededBudgetShouldThrowWhenFailing() throws Exception {
+        SqlBudgetInterceptor interceptor = new SqlBudgetInterceptor(new SimpleMeterRegistry(), 1,
+                Map.of(), true);
+
+        assertThrows(IllegalStateException.class, () -> handle(interceptor, 2));
+    }
+
+    @Test
+    public void exceededBudgetShouldBeCountedWhenNotFailing() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SqlBudgetInterceptor interceptor = new SqlBudgetInterceptor(registry, 5,
+                Map.of("Object.toString", 1), false);
+
+        handle(interceptor, 1);
+        handle(interceptor, 2);
+
+        assertEquals(1, registry.get("shareit.http.sql.budget.exceeded")
+                .tag("handler", "Object.toString")
+                .counter()
+                .count());
+        assertEquals(2, registry.get("shareit.http.sql.statements").summary().count());
+    }
+
+    /**
+     * Runs the call over H2 and checks its statements against the configured budget. Fail mode alone
+     * would do here, since MockMvc rethrows the exception from postHandle; the explicit check keeps the
+     * test meaningful if fail mode is switched off.
+     */
+    private void assertWithinBudget(String handler, MockHttpServletRequestBuilder request, Long userId)
+            throws Exception {
+        Integer budget = environment.getProperty("shareit.sql.budget.endpoints[" + handler + "]", Integer.class);
+        DistributionSummary statements = summary("shareit.http.sql.statements", handler);
+        double before = statements.totalAmount();
+
+        mvc.perform(request.header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk());
+
+        assertTrue(budget != null && budget >= 0, handler + " has no budget");
+        double ran = statements.totalAmount() - before;
+        assertTrue(ran > 0 && ran <= budget, handler + " ran " + ran + " SQL statements, budget " + budget);
+        assertNull(meterRegistry.find("shareit.http.sql.budget.exceeded").tag("handler", handler).counter());
+    }
+
+    private DistributionSummary summary(String name, String handler) {
+        return DistributionSummary.builder(name)
+                .tag("handler", handler)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Enough rows for an N+1 to show: three items with approved bookings by two bookers, and two
+     * requests with items answering them.
+     */
+    private Fixture fixture() {
+        User owner = userService.createUser(new UserDto(null, "owner", "owner@mail.ru"));
+        User booker = userService.createUser(new UserDto(null, "booker", "booker@mail.ru"));
+        User other = userService.createUser(new UserDto(null, "other", "other@mail.ru"));
+        for (User requestor : new User[]{booker, other}) {
+            ItemRequestDto request = itemRequestService.createItemRequest(ItemRequestDtoIn.builder()
+                    .description("wanted by " + requestor.getName())
+                    .build(), requestor.getId());
+            for (int i = 0; i < 3; i++) {
+                ItemDto item = itemService.createItem(ItemDto.builder()
+                        .name("item" + i)
+                        .description("description" + i)
+                        .available(true)
+                        .requestId(request.getId())
+                        .build(), owner.getId());
+                for (User user : new User[]{booker, other}) {
+                    LocalDateTime start = LocalDateTime.now().plusDays(1 + i + (user == booker ? 0 : 10));
+                    BookingDtoOut booking = bookingService.createBooking(
+                            new BookingDtoIn(null, start, start.plusHours(1), item.getId()), user.getId());
+                    entityManager.flush();
+                    bookingService.updateBooking(true, booking.getId(), owner.getId());
+                }
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return new Fixture(owner.getId(), booker.getId());
+    }
+
+    private static class Fixture {
+
+        private final Long owner;
+
+        private final Long booker;
+
+        Fixture(Long owner, Long booker) {
+            this.owner = owner;
+            this.booker = booker;
+        }
+    }
+
+    private static void handle(SqlBudgetInterceptor interceptor, int statements) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HandlerMethod handler = new HandlerMethod(new Object(), Object.class.getMethod("toString"));
+        interceptor.preHandle(request, response, handler);
+        try {
+            for (int i = 0; i < statements; i++) {
+                SqlStats.current().executed(1000);
+            }
+            interceptor.postHandle(request, response, handler, null);
+        } finally {
+            interceptor.afterCompletion(request, response, handler, null);
+        }
+    }
+}
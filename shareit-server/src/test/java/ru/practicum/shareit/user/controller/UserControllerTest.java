@@ -7,21 +7,29 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import ru.practicum.shareit.batch.BatchResult;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.util.List;
+
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.user.mapper.UserMapper.mapToUserSnapshot;
 
 
 @WebMvcTest(controllers = UserController.class)
@@ -73,6 +81,7 @@ class UserControllerTest {
         userTest1.setId(1L);
         userTest1.setName("Name");
         userTest1.setEmail("test@mail.ru");
+        userTest1.setVersion(3L);
     }
 
     @Test
@@ -90,6 +99,25 @@ class UserControllerTest {
                         is(userTest1.getEmail())));
     }
 
+    @Test
+    void createUsers() throws Exception {
+        when(userService.createUsers(Mockito.anyList()))
+                .thenReturn(List.of(BatchResult.created(0, userTest1),
+                        BatchResult.failed(1, HttpStatus.CONFLICT, "Email test@mail.ru is already used")));
+
+        mvc.perform(MockMvcRequestBuilders
+                        .post(USER_API + "/batch")
+                        .content(mapper.writeValueAsString(List.of(userTest1, userTest1)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", is(201)))
+                .andExpect(jsonPath("$[0].result.email", is(userTest1.getEmail())))
+                .andExpect(jsonPath("$[1].index", is(1)))
+                .andExpect(jsonPath("$[1].status", is(409)))
+                .andExpect(jsonPath("$[1].error", is("Email test@mail.ru is already used")));
+    }
+
     @Test
     void saveUserShouldReturnBadRequest() throws Exception {
         when(userService.createUser(Mockito.any(UserDto.class)))
@@ -131,7 +159,7 @@ class UserControllerTest {
 
     @Test
     void getUserById() throws Exception {
-        when(userService.getUserById(Mockito.anyLong())).thenReturn(userTest1);
+        when(userService.getUserById(Mockito.anyLong())).thenReturn(mapToUserSnapshot(userTest1));
 
         ResultActions resultActions = performUserGet(USER_API + "/1");
 
@@ -140,7 +168,29 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.id", is(userTest1.getId()),
                         Long.class))
                 .andExpect(jsonPath("$.name", is(userTest1.getName())))
-                .andExpect(jsonPath("$.email", is(userTest1.getEmail())));
+                .andExpect(jsonPath("$.email", is(userTest1.getEmail())))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"u1-3\""));
+    }
+
+    @Test
+    void getUserByIdShouldReturnNotModified() throws Exception {
+        when(userService.getUserById(Mockito.anyLong())).thenReturn(mapToUserSnapshot(userTest1));
+
+        mvc.perform(MockMvcRequestBuilders
+                        .get(USER_API + "/1")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"u1-3\"")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        userTest1.setVersion(4L);
+        when(userService.getUserById(Mockito.anyLong())).thenReturn(mapToUserSnapshot(userTest1));
+        mvc.perform(MockMvcRequestBuilders
+                        .get(USER_API + "/1")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"u1-3\"")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"u1-4\""));
     }
 
     @Test
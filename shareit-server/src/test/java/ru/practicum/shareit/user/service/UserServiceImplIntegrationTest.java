@@ -5,13 +5,16 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.TestPropertySource;
+import ru.practicum.shareit.batch.BatchResult;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserSnapshot;
 import ru.practicum.shareit.user.model.User;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 import javax.transaction.Transactional;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.allOf;
@@ -67,6 +70,24 @@ class UserServiceImplIntegrationTest {
         assertNotNull(user.getId());
     }
 
+    @Test
+    void createUsers() {
+        userService.createUser(userDtoTest1);
+        List<UserDto> userDtos = List.of(
+                userDtoTest2,
+                new UserDto(null, "", "empty@mail.ru"),
+                new UserDto(null, "Taken", userDtoTest1.getEmail()),
+                new UserDto(null, "Twice", userDtoTest2.getEmail()));
+
+        List<BatchResult<User>> results = userService.createUsers(userDtos);
+
+        assertEquals(List.of(201, 400, 409, 409), results.stream()
+                .map(BatchResult::getStatus)
+                .collect(Collectors.toList()));
+        assertNotNull(results.get(0).getResult().getId());
+        assertEquals(2, userService.getUsers().size());
+    }
+
     @Test
     void updateUser() {
         User user = userService.createUser(userDtoTest1);
@@ -86,7 +107,7 @@ class UserServiceImplIntegrationTest {
         User user = userService.createUser(userDtoTest1);
         Long userId = user.getId();
 
-        User userById = userService.getUserById(userId);
+        UserSnapshot userById = userService.getUserById(userId);
 
         assertEquals(user.getName(), userById.getName());
         assertEquals(user.getEmail(), userById.getEmail());
@@ -14,6 +14,8 @@ import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import javax.validation.Validation;
+import javax.validation.Validator;
 import java.util.Optional;
 
 import static com.sun.xml.bind.v2.schemagen.Util.equalsIgnoreCase;
@@ -27,6 +29,8 @@ class UserServiceImplTest {
     @Mock
     UserRepository userRepository;
 
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -45,7 +49,7 @@ class UserServiceImplTest {
 
     @BeforeEach
     public void setUp() {
-        userService = new UserServiceImpl(userRepository);
+        userService = new UserServiceImpl(userRepository, validator);
         userDtoTest1 = new UserDto();
         userDtoTest1.setName("NameDto1");
         userDtoTest1.setEmail("testDto1@mail.ru");
@@ -86,7 +90,6 @@ class UserServiceImplTest {
         userDtoTest1.setName("Rename");
         userDtoTest1.setEmail("reemail@mail.ru");
 
-        when(userRepository.existsById(Mockito.anyLong())).thenReturn(true);
         when(userRepository.findById(Mockito.anyLong()))
                 .thenReturn(Optional.ofNullable(userTest));
         when(userRepository.save(Mockito.any(User.class)))